@@ -0,0 +1,247 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package org.mozilla.javascript;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process wide cache of the reflection results of
+ * {@link JavaMembers#createClassReflectBean}, one table per reflection mode.
+ * <p>
+ * The results are stored with {@link ClassValue}, so they are reachable only
+ * from their class and go away with its class loader. An index of weak
+ * references keeps the approximate last access of every entry; when more
+ * than <code>maxSize</code> classes are cached, the least recently used
+ * eighth is evicted.
+ * <p>
+ * The counters of the cache used by JavaMembers are available through
+ * {@link #getInstance()}.
+ */
+public final class ClassReflectCache
+{
+    private static final int MODES = 3;
+
+    /**
+     * The cached bean of one class and mode; only referenced by the class.
+     */
+    private static final class Slot
+    {
+        volatile JavaMembers.ClassReflectBean bean;
+        volatile Tick tick;
+    }
+
+    /**
+     * Entry of the index, does not keep the class alive.
+     */
+    private static final class Tick extends WeakReference<Class<?>>
+    {
+        final int mode;
+        volatile long lastAccess;
+
+        Tick(Class<?> clazz, int mode, long lastAccess,
+             ReferenceQueue<Class<?>> queue)
+        {
+            super(clazz, queue);
+            this.mode = mode;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private static final ClassValue<Slot> newSlots()
+    {
+        return new ClassValue<Slot>() {
+            @Override
+            protected Slot computeValue(Class<?> type) {
+                return new Slot();
+            }
+        };
+    }
+
+    private final ClassValue<Slot>[] slots;
+    private final int maxSize;
+    private final Map<Tick,Boolean> index = new ConcurrentHashMap<Tick,Boolean>();
+    private final ReferenceQueue<Class<?>> collected = new ReferenceQueue<Class<?>>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // lost updates only blur the access order
+    private volatile long clock;
+
+    /**
+     * @param maxSize the number of cached classes over all modes, 0 for no
+     *        limit
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    ClassReflectCache(int maxSize)
+    {
+        this.maxSize = maxSize <= 0 ? Integer.MAX_VALUE : maxSize;
+        slots = new ClassValue[MODES];
+        for (int i = 0; i != MODES; ++i) {
+            slots[i] = newSlots();
+        }
+    }
+
+    /**
+     * @return the cache used by JavaMembers, or null if it is disabled by
+     *         <code>rhino_JavaMembers_reflect_cache_on=false</code>
+     */
+    public static ClassReflectCache getInstance()
+    {
+        return JavaMembers.getReflectCache();
+    }
+
+    /**
+     * @return the number of JavaMembers created for the class over all
+     *         scopes, including those of threads that built the class at
+     *         the same time; -1 unless counted by
+     *         <code>rhino_JavaMembers_countCreations=true</code>
+     */
+    public static int getCreationCount(Class<?> clazz)
+    {
+        return JavaMembers.getCreationCount(clazz);
+    }
+
+    JavaMembers.ClassReflectBean get(Class<?> clazz, int mode)
+    {
+        Slot slot = slots[mode].get(clazz);
+        JavaMembers.ClassReflectBean bean = slot.bean;
+        if (bean == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        Tick tick = slot.tick;
+        if (tick != null) {
+            tick.lastAccess = ++clock;
+        }
+        return bean;
+    }
+
+    void put(Class<?> clazz, int mode, JavaMembers.ClassReflectBean bean)
+    {
+        expungeCollected();
+        Slot slot = slots[mode].get(clazz);
+        synchronized (slot) {
+            if (slot.tick == null) {
+                Tick tick = new Tick(clazz, mode, ++clock, collected);
+                index.put(tick, Boolean.TRUE);
+                slot.tick = tick;
+            }
+            slot.bean = bean;
+        }
+        if (index.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes the least recently used eighth of the entries.
+     */
+    private synchronized void evict()
+    {
+        int size = index.size();
+        if (size <= maxSize) {
+            return;
+        }
+        List<Tick> ticks = new ArrayList<Tick>(index.keySet());
+        Collections.sort(ticks, new Comparator<Tick>() {
+            @Override
+            public int compare(Tick a, Tick b) {
+                return a.lastAccess < b.lastAccess ? -1
+                    : (a.lastAccess == b.lastAccess ? 0 : 1);
+            }
+        });
+        int count = Math.min(ticks.size(), size - maxSize + maxSize / 8);
+        for (int i = 0; i != count; ++i) {
+            if (remove(ticks.get(i))) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean remove(Tick tick)
+    {
+        if (index.remove(tick) == null) {
+            return false;
+        }
+        Class<?> clazz = tick.get();
+        if (clazz != null) {
+            slots[tick.mode].remove(clazz);
+        }
+        return true;
+    }
+
+    private void expungeCollected()
+    {
+        for (Object ref; (ref = collected.poll()) != null; ) {
+            index.remove(ref);
+        }
+    }
+
+    /**
+     * Removes all entries, e.g. after a plugin was unloaded. The counters
+     * are kept.
+     */
+    public void clear()
+    {
+        for (Tick tick : new ArrayList<Tick>(index.keySet())) {
+            remove(tick);
+        }
+    }
+
+    /**
+     * @return the number of cached classes over all modes
+     */
+    public int size()
+    {
+        expungeCollected();
+        return index.size();
+    }
+
+    /**
+     * @return the size limit, {@link Integer#MAX_VALUE} if there is none
+     */
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+    public long getHitCount()
+    {
+        return hits.sum();
+    }
+
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries removed for the size limit, entries of
+     *         collected classes are not counted
+     */
+    public long getEvictionCount()
+    {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ClassReflectCache[size=" + size() + ", hits=" + getHitCount()
+            + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount()
+            + "]";
+    }
+}
@@ -0,0 +1,122 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package org.mozilla.javascript;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * WrapFactory that returns the same wrapper for the same Java object within
+ * one script execution, so scripts that walk an object graph several times
+ * do not create a new {@link NativeJavaObject} per visit.
+ * <p>
+ * The wrappers are kept in an identity table of the current Context (as
+ * thread local value of the Context), for the top level scope of the
+ * wrapped objects. The table goes away with the Context at the outermost
+ * {@link Context#exit()}, so a long lived shared scope does not keep the
+ * objects of past executions alive. It is cleared when wrappers for another
+ * top level scope are asked for, and when it holds <code>maxSize</code>
+ * wrappers, which bounds a Context that stays entered. Strings, numbers,
+ * booleans and characters are not cached, they are usually not read twice
+ * by identity.
+ * <p>
+ * A side effect is that <code>a.b === a.b</code> becomes true for Java
+ * objects within one execution. Install with
+ * {@link Context#setWrapFactory(WrapFactory)}.
+ */
+public class IdentityCachingWrapFactory extends WrapFactory
+{
+    private static final Object CACHE_KEY = "IdentityCachingWrapFactory";
+
+    private final int maxSize;
+
+    public IdentityCachingWrapFactory()
+    {
+        this(4096);
+    }
+
+    /**
+     * @param maxSize the number of wrappers kept per Context before the
+     *        table is cleared
+     */
+    public IdentityCachingWrapFactory(int maxSize)
+    {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public Scriptable wrapAsJavaObject(Context cx, Scriptable scope,
+                                       Object javaObject, Class<?> staticType)
+    {
+        if (cx == null
+            || javaObject instanceof String || javaObject instanceof Number
+            || javaObject instanceof Boolean || javaObject instanceof Character) {
+            return super.wrapAsJavaObject(cx, scope, javaObject, staticType);
+        }
+        WrapperCache cache = getCache(cx, scope);
+        Scriptable wrapper = cache.get(javaObject, staticType);
+        if (wrapper == null) {
+            wrapper = super.wrapAsJavaObject(cx, scope, javaObject, staticType);
+            cache.put(javaObject, staticType, wrapper, maxSize);
+        }
+        return wrapper;
+    }
+
+    private static WrapperCache getCache(Context cx, Scriptable scope)
+    {
+        Scriptable top = ScriptableObject.getTopLevelScope(scope);
+        WrapperCache cache = (WrapperCache) cx.getThreadLocal(CACHE_KEY);
+        if (cache == null || cache.top != top) {
+            // the wrappers are parented to the scope they were created for
+            cache = new WrapperCache(top);
+            cx.putThreadLocal(CACHE_KEY, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * The wrappers of one top level scope in one Context; a Context is used
+     * by one thread at a time, so there is no locking.
+     */
+    private static final class WrapperCache
+    {
+        private static final class Entry
+        {
+            final Class<?> staticType;
+            final Scriptable wrapper;
+
+            Entry(Class<?> staticType, Scriptable wrapper)
+            {
+                this.staticType = staticType;
+                this.wrapper = wrapper;
+            }
+        }
+
+        final Scriptable top;
+        private final Map<Object,Entry> wrappers = new IdentityHashMap<Object,Entry>();
+
+        WrapperCache(Scriptable top)
+        {
+            this.top = top;
+        }
+
+        Scriptable get(Object key, Class<?> staticType)
+        {
+            Entry entry = wrappers.get(key);
+            return entry != null && entry.staticType == staticType ? entry.wrapper : null;
+        }
+
+        void put(Object key, Class<?> staticType, Scriptable wrapper, int maxSize)
+        {
+            if (wrappers.size() >= maxSize) {
+                wrappers.clear();
+            }
+            // replaces the wrapper of another static type
+            wrappers.put(key, new Entry(staticType, wrapper));
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package org.mozilla.javascript;
+
+import java.lang.reflect.Array;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * JSON.stringify for Java objects: <code>JSON.stringify(vo)</code> of a
+ * wrapped bean gives no useful result, and copying the bean to a JS object
+ * first reads and wraps every property. This writer reads the bean
+ * properties through the read plan of {@link JavaBeanReader} and writes the
+ * unwrapped values straight into a StringBuilder.
+ * <p>
+ * Java values are written as:
+ * <ul>
+ * <li>strings, characters and enums (by name) as strings, numbers and
+ * booleans as in JavaScript, non finite numbers as null</li>
+ * <li>maps as objects, collections and arrays as arrays</li>
+ * <li>other <code>java.*</code> and <code>javax.*</code> objects, e.g.
+ * dates, as the string of <code>toString()</code></li>
+ * <li>all other objects as beans: an object with the readable bean
+ * properties but <code>class</code>, sorted by name</li>
+ * </ul>
+ * Plain JS objects and arrays are walked the same way, other JS values are
+ * passed to {@link NativeJSON#stringify}. A cyclic structure throws a
+ * TypeError like JSON.stringify. Scripts get the function
+ * <code>beanToJSON(value)</code> by {@link #defineFunctions}.
+ */
+public final class JavaBeanJson
+{
+    // larger builders are not kept for the next call of the thread
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<StringBuilder>();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JavaBeanJson()
+    {
+    }
+
+    /**
+     * @param value a Java object, its wrapper or a JS value
+     * @return the JSON text, or null if the value has none (undefined and
+     *         functions)
+     */
+    public static String stringify(Context cx, Scriptable scope, Object value)
+    {
+        StringBuilder sb = BUFFER.get();
+        if (sb == null) {
+            sb = new StringBuilder(256);
+        } else {
+            // a getter may call back into stringify
+            BUFFER.set(null);
+        }
+        try {
+            return stringify(cx, scope, value, sb) ? sb.toString() : null;
+        } finally {
+            if (sb.capacity() <= MAX_RETAINED_CAPACITY) {
+                sb.setLength(0);
+                BUFFER.set(sb);
+            }
+        }
+    }
+
+    /**
+     * Appends the JSON text of the value.
+     *
+     * @return false if the value has no JSON text, then nothing was appended
+     */
+    public static boolean stringify(Context cx, Scriptable scope, Object value,
+                                    StringBuilder out)
+    {
+        return new Writer(cx, ScriptableObject.getTopLevelScope(scope), out)
+            .write(value);
+    }
+
+    /**
+     * Defines the function <code>beanToJSON</code> in the scope.
+     */
+    public static void defineFunctions(ScriptableObject scope)
+    {
+        scope.defineProperty("beanToJSON", new StringifyFunction(scope),
+                             ScriptableObject.DONTENUM);
+    }
+
+    private static final class Writer
+    {
+        private final Context cx;
+        private final Scriptable scope;
+        private final StringBuilder sb;
+        // the objects and arrays being written, to detect cycles
+        private final Map<Object,Object> stack = new IdentityHashMap<Object,Object>();
+
+        Writer(Context cx, Scriptable scope, StringBuilder sb)
+        {
+            this.cx = cx;
+            this.scope = scope;
+            this.sb = sb;
+        }
+
+        /**
+         * @return false for undefined and functions, which are left out of
+         *         objects and written as null in arrays
+         */
+        boolean write(Object value)
+        {
+            if (value instanceof Wrapper) {
+                value = ((Wrapper) value).unwrap();
+            }
+            if (value == Undefined.instance) {
+                return false;
+            } else if (value == null) {
+                sb.append("null");
+            } else if (value instanceof CharSequence) {
+                quote(value.toString());
+            } else if (value instanceof Number) {
+                writeNumber((Number) value);
+            } else if (value instanceof Boolean) {
+                sb.append(((Boolean) value).booleanValue());
+            } else if (value instanceof Character) {
+                quote(value.toString());
+            } else if (value instanceof Enum) {
+                quote(((Enum<?>) value).name());
+            } else if (value instanceof Scriptable) {
+                return writeScriptable((Scriptable) value);
+            } else if (value instanceof Map) {
+                push(value);
+                writeMap((Map<?,?>) value);
+                stack.remove(value);
+            } else if (value instanceof Iterable) {
+                push(value);
+                writeIterable((Iterable<?>) value);
+                stack.remove(value);
+            } else if (value.getClass().isArray()) {
+                push(value);
+                writeArray(value);
+                stack.remove(value);
+            } else {
+                final String className = value.getClass().getName();
+                if (className.startsWith("java.") || className.startsWith("javax.")) {
+                    quote(value.toString());
+                } else {
+                    push(value);
+                    writeBean(value);
+                    stack.remove(value);
+                }
+            }
+            return true;
+        }
+
+        private void push(Object value)
+        {
+            if (stack.put(value, value) != null) {
+                throw ScriptRuntime.typeError1("msg.cyclic.value",
+                                               value.getClass().getName());
+            }
+        }
+
+        private void writeNumber(Number n)
+        {
+            if (n instanceof Integer || n instanceof Long
+                || n instanceof Short || n instanceof Byte) {
+                sb.append(n.longValue());
+                return;
+            }
+            final double d = n.doubleValue();
+            if (d != d || d == Double.POSITIVE_INFINITY
+                || d == Double.NEGATIVE_INFINITY) {
+                sb.append("null");
+            } else {
+                sb.append(ScriptRuntime.numberToString(d, 10));
+            }
+        }
+
+        private void writeBean(Object javaObject)
+        {
+            final JavaMembers members = JavaMembers.lookupClass(scope,
+                javaObject.getClass(), null, false);
+            final String[] names = members.getBeanPropertyNames();
+            final Object[] values = members.readBeanPropertyValues(scope, javaObject);
+            sb.append('{');
+            boolean first = true;
+            for (int i = 0; i != names.length; ++i) {
+                if ("class".equals(names[i])) {
+                    continue;
+                }
+                first = writeProperty(names[i], values[i], first);
+            }
+            sb.append('}');
+        }
+
+        private void writeMap(Map<?,?> map)
+        {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<?,?> entry : map.entrySet()) {
+                first = writeProperty(String.valueOf(entry.getKey()),
+                                      entry.getValue(), first);
+            }
+            sb.append('}');
+        }
+
+        /**
+         * @return whether nothing was written to the object yet
+         */
+        private boolean writeProperty(String name, Object value, boolean first)
+        {
+            final int start = sb.length();
+            if (!first) {
+                sb.append(',');
+            }
+            quote(name);
+            sb.append(':');
+            if (!write(value)) {
+                sb.setLength(start);
+                return first;
+            }
+            return false;
+        }
+
+        private void writeIterable(Iterable<?> iterable)
+        {
+            sb.append('[');
+            boolean first = true;
+            for (Object element : iterable) {
+                if (!first) {
+                    sb.append(',');
+                }
+                writeElement(element);
+                first = false;
+            }
+            sb.append(']');
+        }
+
+        private void writeArray(Object array)
+        {
+            sb.append('[');
+            final int length = Array.getLength(array);
+            for (int i = 0; i != length; ++i) {
+                if (i != 0) {
+                    sb.append(',');
+                }
+                writeElement(Array.get(array, i));
+            }
+            sb.append(']');
+        }
+
+        private void writeElement(Object element)
+        {
+            if (!write(element)) {
+                sb.append("null");
+            }
+        }
+
+        private boolean writeScriptable(Scriptable value)
+        {
+            if (value instanceof Callable) {
+                return false;
+            }
+            if (value instanceof NativeArray) {
+                final NativeArray array = (NativeArray) value;
+                push(value);
+                sb.append('[');
+                final long length = array.getLength();
+                for (int i = 0; i < length; ++i) {
+                    if (i != 0) {
+                        sb.append(',');
+                    }
+                    final Object element = array.get(i, array);
+                    writeElement(element == Scriptable.NOT_FOUND ? null : element);
+                }
+                sb.append(']');
+                stack.remove(value);
+                return true;
+            }
+            if (value.getClass() == NativeObject.class
+                && !ScriptableObject.hasProperty(value, "toJSON")) {
+                push(value);
+                sb.append('{');
+                boolean first = true;
+                for (Object id : value.getIds()) {
+                    final Object property = id instanceof Integer
+                        ? value.get(((Integer) id).intValue(), value)
+                        : value.get(id.toString(), value);
+                    if (property == Scriptable.NOT_FOUND) {
+                        continue;
+                    }
+                    first = writeProperty(id.toString(), property, first);
+                }
+                sb.append('}');
+                stack.remove(value);
+                return true;
+            }
+            // dates, boxed primitives and objects with toJSON
+            final Object json = NativeJSON.stringify(cx, scope, value, null, null);
+            if (json == Undefined.instance) {
+                return false;
+            }
+            sb.append(json.toString());
+            return true;
+        }
+
+        private void quote(String string)
+        {
+            sb.append('"');
+            final int length = string.length();
+            int copied = 0;
+            for (int i = 0; i != length; ++i) {
+                final char c = string.charAt(i);
+                if (c >= ' ' && c != '"' && c != '\\') {
+                    continue;
+                }
+                sb.append(string, copied, i);
+                copied = i + 1;
+                switch (c) {
+                  case '"':  sb.append("\\\""); break;
+                  case '\\': sb.append("\\\\"); break;
+                  case '\b': sb.append("\\b"); break;
+                  case '\f': sb.append("\\f"); break;
+                  case '\n': sb.append("\\n"); break;
+                  case '\r': sb.append("\\r"); break;
+                  case '\t': sb.append("\\t"); break;
+                  default:
+                    sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+                }
+            }
+            sb.append(string, copied, length);
+            sb.append('"');
+        }
+    }
+
+    private static final class StringifyFunction extends BaseFunction
+    {
+        private static final long serialVersionUID = 1L;
+
+        StringifyFunction(Scriptable scope)
+        {
+            ScriptRuntime.setFunctionProtoAndParent(this, scope);
+        }
+
+        @Override
+        public Object call(Context cx, Scriptable scope, Scriptable thisObj,
+                           Object[] args)
+        {
+            final String json = stringify(cx, scope,
+                args.length > 0 ? args[0] : Undefined.instance);
+            return json == null ? Undefined.instance : json;
+        }
+
+        @Override
+        public String getFunctionName()
+        {
+            return "beanToJSON";
+        }
+
+        @Override
+        public int getLength()
+        {
+            return 1;
+        }
+    }
+}
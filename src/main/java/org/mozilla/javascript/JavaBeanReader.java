@@ -0,0 +1,150 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package org.mozilla.javascript;
+
+/**
+ * Reads all bean properties of a Java object, or a given subset, in one
+ * call, e.g. to turn a bean into a plain JS object or into JSON. The values
+ * are the same as those of <code>vo.name</code>, but the members of the
+ * class are looked up once per call instead of once per property.
+ * <p>
+ * Scripts get the functions <code>beanToObject(vo[, names])</code> and
+ * <code>beanToArray(vo[, names])</code> by {@link #defineFunctions}, where
+ * <code>names</code> is an array of property names; without it all
+ * readable bean properties are read, in the order of
+ * {@link #getPropertyNames}.
+ */
+public final class JavaBeanReader
+{
+    private JavaBeanReader()
+    {
+    }
+
+    /**
+     * @param bean a Java object or its wrapper
+     * @return the sorted names of the bean properties with a getter
+     */
+    public static String[] getPropertyNames(Scriptable scope, Object bean)
+    {
+        return membersOf(scope, unwrap(bean)).getBeanPropertyNames().clone();
+    }
+
+    /**
+     * @param bean a Java object or its wrapper
+     * @return a new object with all readable bean properties of the bean
+     */
+    public static Scriptable toObject(Context cx, Scriptable scope, Object bean)
+    {
+        return toObject(cx, scope, bean, null);
+    }
+
+    /**
+     * @param bean a Java object or its wrapper
+     * @param names the properties to read, null for all readable bean
+     *        properties
+     * @return a new object with the properties, undefined for names without
+     *         a member
+     */
+    public static Scriptable toObject(Context cx, Scriptable scope, Object bean,
+                                      String[] names)
+    {
+        Object javaObject = unwrap(bean);
+        JavaMembers members = membersOf(scope, javaObject);
+        if (names == null) {
+            names = members.getBeanPropertyNames();
+        }
+        Object[] values = members.readBeanProperties(scope, javaObject, names);
+        NativeObject result = new NativeObject();
+        ScriptRuntime.setBuiltinProtoAndParent(result, scope,
+                                               TopLevel.Builtins.Object);
+        for (int i = 0; i != names.length; ++i) {
+            result.put(names[i], result, values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * @param bean a Java object or its wrapper
+     * @param names the properties to read, null for all readable bean
+     *        properties in the order of {@link #getPropertyNames}
+     * @return a new array with the values of the properties
+     */
+    public static Scriptable toArray(Context cx, Scriptable scope, Object bean,
+                                     String[] names)
+    {
+        Object javaObject = unwrap(bean);
+        Object[] values = membersOf(scope, javaObject)
+            .readBeanProperties(scope, javaObject, names);
+        return cx.newArray(scope, values);
+    }
+
+    /**
+     * Defines the functions <code>beanToObject</code> and
+     * <code>beanToArray</code> in the scope.
+     */
+    public static void defineFunctions(ScriptableObject scope)
+    {
+        scope.defineProperty("beanToObject", new ReadFunction(scope, false),
+                             ScriptableObject.DONTENUM);
+        scope.defineProperty("beanToArray", new ReadFunction(scope, true),
+                             ScriptableObject.DONTENUM);
+    }
+
+    private static Object unwrap(Object bean)
+    {
+        Object javaObject = bean instanceof Wrapper ? ((Wrapper) bean).unwrap() : bean;
+        if (javaObject == null || javaObject instanceof Scriptable) {
+            throw ScriptRuntime.typeError("Not a Java object: "
+                                          + ScriptRuntime.toString(bean));
+        }
+        return javaObject;
+    }
+
+    private static JavaMembers membersOf(Scriptable scope, Object javaObject)
+    {
+        return JavaMembers.lookupClass(ScriptableObject.getTopLevelScope(scope),
+                                       javaObject.getClass(), null, false);
+    }
+
+    private static final class ReadFunction extends BaseFunction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean toArray;
+
+        ReadFunction(Scriptable scope, boolean toArray)
+        {
+            this.toArray = toArray;
+            ScriptRuntime.setFunctionProtoAndParent(this, scope);
+        }
+
+        @Override
+        public Object call(Context cx, Scriptable scope, Scriptable thisObj,
+                           Object[] args)
+        {
+            Object bean = args.length > 0 ? args[0] : Undefined.instance;
+            String[] names = null;
+            if (args.length > 1 && args[1] != null && args[1] != Undefined.instance) {
+                names = (String[]) Context.jsToJava(args[1], String[].class);
+            }
+            return toArray ? toArray(cx, scope, bean, names)
+                           : toObject(cx, scope, bean, names);
+        }
+
+        @Override
+        public String getFunctionName()
+        {
+            return toArray ? "beanToArray" : "beanToObject";
+        }
+
+        @Override
+        public int getLength()
+        {
+            return 2;
+        }
+    }
+}
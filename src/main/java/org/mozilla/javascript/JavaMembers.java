@@ -9,21 +9,40 @@ package org.mozilla.javascript;
 import static java.lang.reflect.Modifier.isProtected;
 import static java.lang.reflect.Modifier.isPublic;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.mozilla.javascript.index.IndexedMembers;
+import org.mozilla.javascript.index.MemberIndex;
 
 /**
  *
@@ -61,6 +80,78 @@ abstract class JavaMembers
     abstract Map<String,FieldAndMethods> getFieldAndMethodsObjects(Scriptable scope,
             Object javaObject, boolean isStatic);
 
+    /**
+     * @return the sorted names of the instance bean properties with a
+     *         getter; the array may be shared and must not be modified
+     * @see JavaBeanReader
+     */
+    String[] getBeanPropertyNames()
+    {
+        List<String> names = new ArrayList<String>();
+        for (Map.Entry<String,Object> entry : members.entrySet()) {
+            Object member = entry.getValue();
+            if (member instanceof BeanProperty
+                && ((BeanProperty) member).getter != null) {
+                names.add(entry.getKey());
+            }
+        }
+        String[] result = names.toArray(new String[names.size()]);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Reads instance properties like {@link #get} does.
+     *
+     * @param names the property names, null for
+     *        {@link #getBeanPropertyNames()}
+     * @return the wrapped values in the order of the names, undefined for
+     *         names without a member
+     */
+    Object[] readBeanProperties(Scriptable scope, Object javaObject, String[] names)
+    {
+        if (names == null) {
+            names = getBeanPropertyNames();
+        }
+        Object[] values = new Object[names.length];
+        for (int i = 0; i != names.length; ++i) {
+            values[i] = getOrUndefined(scope, names[i], javaObject);
+        }
+        return values;
+    }
+
+    /**
+     * Reads the properties of {@link #getBeanPropertyNames()} without
+     * wrapping the values.
+     *
+     * @return the Java values, with primitives boxed
+     * @see JavaBeanJson
+     */
+    Object[] readBeanPropertyValues(Scriptable scope, Object javaObject)
+    {
+        Object[] values = readBeanProperties(scope, javaObject, null);
+        for (int i = 0; i != values.length; ++i) {
+            if (values[i] instanceof Wrapper) {
+                values[i] = ((Wrapper) values[i]).unwrap();
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Resolves the members that do not depend on a scope up front, for
+     * {@link JavaMembersWarmer}. Nothing to do by default.
+     */
+    void resolveSharedMembers()
+    {
+    }
+
+    final Object getOrUndefined(Scriptable scope, String name, Object javaObject)
+    {
+        Object value = get(scope, name, javaObject, false);
+        return value == Scriptable.NOT_FOUND ? Undefined.instance : value;
+    }
+
     protected static final String getProperty(final String key,final String defaultValue) {
         return System.getProperty(key, defaultValue);
     }
@@ -113,78 +204,194 @@ abstract class JavaMembers
 
         final NativeJavaMethod constructorMethod;
         //private final Map<String,MethodSignature> methodMap;
-        final Map<MethodSignature,Method> mSignatureMap;
+        // the accessible methods sorted by name, overloads in the order of
+        // the signature map
+        final Method[] methods;
         final Field[] fields;
-        final Map<String,Field> fieldMap;
 
-        private final Map<String,Field> staticFieldMap;
-        private final Map<String,Field> instFieldMap;
+        // the tables below are built by initTables(), in the lazy mode only
+        // when a whole table is asked for
+        private MemberTable staticTable;
+        private MemberTable instTable;
+
+        private Map<String,Field> staticFieldMap;
+        private Map<String,Field> instFieldMap;
 
-        final Map<String,String> staticBeanProperties;
-        final Map<String,String> instBeanProperties;
-        final Map<String,Object> members;
-        final Map<String,Object> staticMembers;
+        private Map<String,String> staticBeanProperties;
+        private Map<String,String> instBeanProperties;
+        private Map<String,Object> members;
+        private Map<String,Object> staticMembers;
 
-        final Set<String> staticMemberNames;
-        final Set<String> instMemberNames;
-        final Set<String> staticFieldAndMethods;
-        final Set<String> instFieldAndMethods;
+        private Set<String> staticMemberNames;
+        private Set<String> instMemberNames;
+        private Set<String> staticFieldAndMethods;
+        private Set<String> instFieldAndMethods;
+
+        private Map<String,String>[] beanProperties;
+        private volatile boolean tablesDone;
+        // per name lookups of the lazy mode, null if the tables are eager
+        private final LazyIndex lazyIndex;
 
         Map<String,Object> getMembers(final boolean isStatic){
+            initTables();
+            if (COMPACT_TABLES_ON) {
+                return (isStatic ? staticTable : instTable).getMethodGroups();
+            }
             return isStatic ? staticMembers : members;
         }
 
+        /**
+         * @return the Method or the ObjArray of overloaded methods with the
+         *         name, or null
+         */
+        Object getMethodGroup(final String name, final boolean isStatic) {
+            if (lazyIndex != null) {
+                return lazyIndex.getMethodGroup(name, isStatic);
+            }
+            if (COMPACT_TABLES_ON) {
+                return (isStatic ? staticTable : instTable).getMethodGroup(name);
+            }
+            return (isStatic ? staticMembers : members).get(name);
+        }
+
         boolean has(final String key ,final boolean isStatic) {
+            if (lazyIndex != null) {
+                return lazyIndex.getMethodGroup(key, isStatic) != null
+                    || lazyIndex.getField(key, isStatic) != null
+                    || getBeanPropertyNameComponent(key, isStatic) != null;
+            }
+            if (COMPACT_TABLES_ON) {
+                return (isStatic ? staticTable : instTable).contains(key);
+            }
             return  isStatic ?  staticMemberNames.contains(key) : instMemberNames.contains(key);
         }
 
         Object[] getIds(final boolean isStatic) {
-            Map<String,Object> map = isStatic ? staticMembers : members;
+            Map<String,Object> map = getMembers(isStatic);
             return map.keySet().toArray(new String[map.size()]);
         }
+
+        /**
+         * @return the names of all members, fields and bean properties
+         */
+        private Set<String> getMemberNames(final boolean isStatic) {
+            if (COMPACT_TABLES_ON) {
+                return (isStatic ? staticTable : instTable).getNames();
+            }
+            return isStatic ? staticMemberNames : instMemberNames;
+        }
+
+        /**
+         * @return the name component of the getter/setter methods of the
+         *         bean property, or null if there is no such property
+         */
+        String getBeanPropertyNameComponent(final String name, final boolean isStatic) {
+            if (lazyIndex != null && beanProperties == null) {
+                return lazyIndex.getBeanPropertyNameComponent(name, isStatic);
+            }
+            return getBeanProperties(isStatic).get(name);
+        }
+
+        Map<String,String> getBeanProperties(final boolean isStatic) {
+            final Map<String,String>[] beanProperties = this.beanProperties;
+            if (beanProperties != null) {
+                return beanProperties[isStatic ? 0 : 1];
+            }
+            initTables();
+            if (COMPACT_TABLES_ON) {
+                return (isStatic ? staticTable : instTable).getBeanProperties();
+            }
+            return isStatic ? staticBeanProperties : instBeanProperties;
+        }
+
+        /**
+         * @return the names of fields that are methods too
+         */
+        Set<String> getFieldAndMethodNames(final boolean isStatic) {
+            if (lazyIndex != null) {
+                return lazyIndex.getFieldAndMethodNames(isStatic);
+            }
+            if (COMPACT_TABLES_ON) {
+                return (isStatic ? staticTable : instTable).getFieldAndMethodNames();
+            }
+            return isStatic ? staticFieldAndMethods : instFieldAndMethods;
+        }
+
         ClassReflectBean(NativeJavaMethod constructorMethod, Map<MethodSignature, Method> mSignatureMap,Field[] fields) {
+            this(constructorMethod, mSignatureMap, fields, null, null);
+        }
+
+        /**
+         * @param staticBeanProperties static bean properties if already known, else null
+         * @param instBeanProperties instance bean properties if already known, else null
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        ClassReflectBean(NativeJavaMethod constructorMethod, Map<MethodSignature, Method> mSignatureMap,Field[] fields,
+                Map<String, String> staticBeanProperties, Map<String, String> instBeanProperties) {
             super();
-            this.staticMemberNames = new HashSet<String>();
-            this.instMemberNames = new HashSet<String>();
             this.constructorMethod = constructorMethod;
-            this.mSignatureMap = mSignatureMap;
+            // stable, so overloads keep the order of the signature map
+            this.methods = mSignatureMap.values().toArray(new Method[mSignatureMap.size()]);
+            Arrays.sort(this.methods, BY_NAME);
             this.fields = fields;
-            this.members = new HashMap<String,Object>();
-            this.staticMembers = new HashMap<String,Object>();
-            for(Map.Entry<MethodSignature, Method> entry : mSignatureMap.entrySet()) {
-                final Method m = entry.getValue();
-                final MethodSignature key = entry.getKey();
-                if(key.staticMethod) {
-                    staticMemberNames.add(key.name);
-                }else {
-                    instMemberNames.add(key.name);
+            // generic array creation, the maps are typed by the parameters
+            this.beanProperties = staticBeanProperties == null ? null
+                : new Map[] { staticBeanProperties, instBeanProperties };
+            if (LAZY_REFLECT_ON) {
+                lazyIndex = new LazyIndex(methods, fields);
+            } else {
+                lazyIndex = null;
+                initTables();
+            }
+        }
+
+        private void initTables() {
+            if (tablesDone) {
+                return;
+            }
+            synchronized (this) {
+                if (!tablesDone) {
+                    buildTables();
+                    tablesDone = true;
                 }
             }
-            Set<String> staticMethodNames = new HashSet<String>(staticMemberNames);
-            Set<String> instMethodNames = new HashSet<String>(instMemberNames);
-            fieldMap = new HashMap<String,Field>();
+        }
+
+        private void buildTables() {
+            Map<String,Field> fieldMap = new HashMap<String,Field>();
             for(Field fld : fields) {
                 final String name = fld.getName();
                 Field oldField = (Field) fieldMap.get(name);
-                if(oldField == null) {
+                if (oldField == null || shadows(fld, oldField)) {
                     fieldMap.put(name, fld);
-                    continue;
                 }
-                // If this newly reflected field shadows an inherited field,
-                // then replace it. Otherwise, since access to the field
-                // would be ambiguous from Java, no field should be
-                // reflected.
-                // For now, the first field found wins, unless another field
-                // explicitly shadows it.
-                if (oldField.getDeclaringClass().
-                        isAssignableFrom(fld.getDeclaringClass()) || (fld.isAccessible() && !oldField.isAccessible()) )
-                {
-                    fieldMap.put(name, fld);
+            }
+            Map<String,String>[] beanProperties = this.beanProperties;
+            if (beanProperties == null) {
+                beanProperties = createBeanProperties(Arrays.asList(methods));
+            }
+            if (COMPACT_TABLES_ON) {
+                staticTable = new MemberTable(methods, fieldMap.values(), beanProperties[0], true);
+                instTable = new MemberTable(methods, fieldMap.values(), beanProperties[1], false);
+                // in the tables now
+                this.beanProperties = null;
+                return;
+            }
+            this.staticMemberNames = new HashSet<String>();
+            this.instMemberNames = new HashSet<String>();
+            this.members = new HashMap<String,Object>();
+            this.staticMembers = new HashMap<String,Object>();
+            for(Method m : methods) {
+                if(Modifier.isStatic(m.getModifiers())) {
+                    staticMemberNames.add(m.getName());
+                }else {
+                    instMemberNames.add(m.getName());
                 }
             }
-
-            instFieldMap = new HashMap<String,Field>();
+            Set<String> staticMethodNames = new HashSet<String>(staticMemberNames);
+            Set<String> instMethodNames = new HashSet<String>(instMemberNames);
             staticFieldMap = new HashMap<String,Field>();
+            instFieldMap = new HashMap<String,Field>();
             for(Map.Entry<String, Field> entry : fieldMap.entrySet()) {
                 final Field fld = entry.getValue();
                 final String key = entry.getKey();
@@ -200,18 +407,14 @@ abstract class JavaMembers
             staticFieldAndMethods= intersection(staticMethodNames,staticFieldMap.keySet());
             instFieldAndMethods = intersection(instMethodNames,instFieldMap.keySet());
 
-            final Map<String, String>[] beanProperties = createBeanProperties(mSignatureMap.values());
             staticBeanProperties = beanProperties[0];
             instBeanProperties = beanProperties[1];
             staticMemberNames.addAll(staticBeanProperties.keySet());
             instMemberNames.addAll(instBeanProperties.keySet());
 
-            for (Map.Entry<MethodSignature,Method> entry: mSignatureMap.entrySet()) {
-                 Method method = entry.getValue();
+            for (Method method : methods) {
              String name = method.getName();
-            final MethodSignature m = entry.getKey();
-             // int mods = method.getModifiers();
-             final boolean isStatic = m.staticMethod;
+             final boolean isStatic = Modifier.isStatic(method.getModifiers());
              Map<String,Object> ht = isStatic ? staticMembers : members;
             Object value = ht.get(name);
             if (value == null) {
@@ -233,14 +436,173 @@ abstract class JavaMembers
         }
         }
 
+        // explicit signatures "name(type,...)" of the method groups and
+        // constructors (static, name "") listed in *SignatureGroups
+        private final ConcurrentHashMap<String,MemberBox> staticSignatures = new ConcurrentHashMap<String,MemberBox>();
+        private final ConcurrentHashMap<String,MemberBox> instSignatures = new ConcurrentHashMap<String,MemberBox>();
+        private final Set<String> staticSignatureGroups = Collections.newSetFromMap(new ConcurrentHashMap<String,Boolean>());
+        private final Set<String> instSignatureGroups = Collections.newSetFromMap(new ConcurrentHashMap<String,Boolean>());
+
+        /**
+         * @param name method or constructor name followed by its
+         *        liveConnectSignature, e.g. "setName1(java.lang.String)"
+         * @param sigStart the index of '(' in the name
+         * @return the member with the signature, or null if there is none
+         */
+        MemberBox getExplicitMember(final String name, final int sigStart, final boolean isStatic) {
+            final ConcurrentHashMap<String,MemberBox> signatures = isStatic ? staticSignatures : instSignatures;
+            final MemberBox member = signatures.get(name);
+            if (member != null) {
+                return member;
+            }
+            if (sigStart == 0 && !isStatic) {
+                return null;
+            }
+            final String trueName = name.substring(0, sigStart);
+            final Set<String> groups = isStatic ? staticSignatureGroups : instSignatureGroups;
+            if (!groups.contains(trueName)) {
+                if (sigStart == 0) {
+                    for (MemberBox ctor : constructorMethod.methods) {
+                        signatures.putIfAbsent(liveConnectSignature(ctor.argTypes), ctor);
+                    }
+                } else {
+                    final Object group = getMethodGroup(trueName, isStatic);
+                    if (group instanceof Method) {
+                        addSignature(signatures, trueName, (Method) group);
+                    } else if (group instanceof ObjArray) {
+                        final ObjArray overloadedMethods = (ObjArray) group;
+                        for (int i = 0, n = overloadedMethods.size(); i != n; ++i) {
+                            addSignature(signatures, trueName, (Method) overloadedMethods.get(i));
+                        }
+                    } else {
+                        // not a method, only the names of the class are kept
+                        return null;
+                    }
+                }
+                groups.add(trueName);
+            }
+            return signatures.get(name);
+        }
+
+        private static void addSignature(ConcurrentHashMap<String,MemberBox> signatures,
+                String name, Method method) {
+            // the first of equal signatures wins, as in the scan of the group
+            signatures.putIfAbsent(name.concat(liveConnectSignature(method.getParameterTypes())),
+                    new MemberBox(method));
+        }
+
+        // scope independent members of JavaMembersNew by name, see
+        // JavaMembersNew.getSharedMember
+        final ConcurrentHashMap<String,Object> staticShared = new ConcurrentHashMap<String,Object>();
+        final ConcurrentHashMap<String,Object> instShared = new ConcurrentHashMap<String,Object>();
+        // all members are in the tables above
+        volatile boolean sharedDone;
+        // the shared members as seen from instances, see
+        // JavaMembersNew.getInstanceMember
+        final ConcurrentHashMap<String,JavaMembersNew.SharedMember> instView
+            = new ConcurrentHashMap<String,JavaMembersNew.SharedMember>();
+
+        // names without a member, as looked up from instances (including
+        // the static members) and from the class
+        private final ConcurrentHashMap<String,Boolean> instMissing = new ConcurrentHashMap<String,Boolean>();
+        private final ConcurrentHashMap<String,Boolean> staticMissing = new ConcurrentHashMap<String,Boolean>();
+
+        boolean isMissing(final String name, final boolean isStatic) {
+            return (isStatic ? staticMissing : instMissing).containsKey(name);
+        }
+
+        /**
+         * Remembers a name without a member, unless maxSize names are
+         * remembered already.
+         */
+        void addMissing(final String name, final boolean isStatic, final int maxSize) {
+            final ConcurrentHashMap<String,Boolean> missing = isStatic ? staticMissing : instMissing;
+            if (missing.size() < maxSize) {
+                missing.put(name, Boolean.TRUE);
+            }
+        }
+
+        // overload resolution results of the overloaded method groups
+        private final ConcurrentHashMap<String,OverloadCache> staticOverloads = new ConcurrentHashMap<String,OverloadCache>();
+        private final ConcurrentHashMap<String,OverloadCache> instOverloads = new ConcurrentHashMap<String,OverloadCache>();
+
+        /**
+         * @return the overload cache shared by the NativeJavaMethod objects
+         *         of the method group
+         */
+        OverloadCache getOverloadCache(final String name, final boolean isStatic, final int size) {
+            final ConcurrentHashMap<String,OverloadCache> overloads = isStatic ? staticOverloads : instOverloads;
+            OverloadCache cache = overloads.get(name);
+            if (cache == null) {
+                cache = new OverloadCache(size);
+                final OverloadCache old = overloads.putIfAbsent(name, cache);
+                if (old != null) {
+                    cache = old;
+                }
+            }
+            return cache;
+        }
+
+        // MemberDispatcher, or Boolean.FALSE if the class is too large for one
+        private volatile Object dispatcher;
+
+        /**
+         * @return the generated dispatcher for all member names of the class,
+         *         or null if none could be generated
+         */
+        MemberDispatcher getDispatcher() {
+            Object d = dispatcher;
+            if (d == null) {
+                synchronized (this) {
+                    d = dispatcher;
+                    if (d == null) {
+                        initTables();
+                        final Set<String> names = new HashSet<String>(getMemberNames(false));
+                        names.addAll(getMemberNames(true));
+                        d = MemberDispatcher.create(names.toArray(new String[names.size()]));
+                        if (d == null) {
+                            d = Boolean.FALSE;
+                        }
+                        dispatcher = d;
+                    }
+                }
+            }
+            return d instanceof MemberDispatcher ? (MemberDispatcher) d : null;
+        }
+
         Field getStaticField(final String key) {
+            if (lazyIndex != null) {
+                return lazyIndex.getField(key, true);
+            }
+            if (COMPACT_TABLES_ON) {
+                return staticTable.getField(key);
+            }
             return staticFieldMap.get(key);
         }
 
         Field getInstField(final String key) {
+            if (lazyIndex != null) {
+                return lazyIndex.getField(key, false);
+            }
+            if (COMPACT_TABLES_ON) {
+                return instTable.getField(key);
+            }
             return instFieldMap.get(key);
         }
 
+        /**
+         * If this newly reflected field shadows an inherited field,
+         * then replace it. Otherwise, since access to the field
+         * would be ambiguous from Java, no field should be
+         * reflected.
+         * For now, the first field found wins, unless another field
+         * explicitly shadows it.
+         */
+        private static boolean shadows(Field fld, Field oldField) {
+            return oldField.getDeclaringClass().
+                    isAssignableFrom(fld.getDeclaringClass()) || (fld.isAccessible() && !oldField.isAccessible());
+        }
+
         private static final <T> Set<T> intersection(Collection<T> a, Collection<T> b){
             final Set<T> ret = new HashSet<T>();
             for(T v : a) {
@@ -252,14 +614,391 @@ abstract class JavaMembers
         }
     }
 
-    private static final Map<String,Object> cache = new ConcurrentHashMap<String, Object>();
-    private static final Map<Class,ClassReflectBean>[] cacheArray = new Map[]{
-        new ConcurrentHashMap<Class,ClassReflectBean>(),
-        new ConcurrentHashMap<Class,ClassReflectBean>(),
-        new ConcurrentHashMap<Class,ClassReflectBean>()
+    //rhino_JavaMembers_lazyReflect=true for enable, best with rhino_JavaMembers_lazyInit=true
+    private static final boolean LAZY_REFLECT_ON = "true".equals(getProperty("rhino_JavaMembers_lazyReflect","false"));
+
+    //rhino_JavaMembers_compactTables=false for disable
+    private static final boolean COMPACT_TABLES_ON = !"false".equals(getProperty("rhino_JavaMembers_compactTables","true"));
+
+    private static final Comparator<Member> BY_NAME = new Comparator<Member>() {
+        @Override
+        public int compare(Member a, Member b) {
+            return a.getName().compareTo(b.getName());
+        }
     };
 
-    private static Map<Class,ClassReflectBean> getCache(final Class<?> clazz, final boolean includeProtected, final boolean includePrivate){
+    /**
+     * Methods and fields of a ClassReflectBean sorted by name, the method
+     * groups, fields and bean properties of a name are resolved when the
+     * name is asked for.
+     */
+    private static final class LazyIndex {
+        private static final Object NONE = new Object();
+
+        private final Method[] methods;
+        private final Field[] fields;
+        // name -> Method, ObjArray or NONE
+        private final ConcurrentHashMap<String,Object> staticGroups = new ConcurrentHashMap<String,Object>();
+        private final ConcurrentHashMap<String,Object> instGroups = new ConcurrentHashMap<String,Object>();
+        // name -> name component or NONE
+        private final Map<String,Object> staticBeanProperties = new ConcurrentHashMap<String,Object>();
+        private final Map<String,Object> instBeanProperties = new ConcurrentHashMap<String,Object>();
+        private volatile Set<String> staticFieldAndMethods;
+        private volatile Set<String> instFieldAndMethods;
+
+        /**
+         * @param methods sorted by name, not copied
+         */
+        LazyIndex(Method[] methods, Field[] fields) {
+            this.methods = methods;
+            this.fields = fields.clone();
+            Arrays.sort(this.fields, BY_NAME);
+        }
+
+        Object getMethodGroup(String name, boolean isStatic) {
+            final ConcurrentHashMap<String,Object> groups = isStatic ? staticGroups : instGroups;
+            Object group = groups.get(name);
+            if (group == null) {
+                group = NONE;
+                for (int i = firstIndex(methods, name); i < methods.length
+                         && methods[i].getName().equals(name); ++i) {
+                    final Method method = methods[i];
+                    if (Modifier.isStatic(method.getModifiers()) != isStatic) {
+                        continue;
+                    }
+                    if (group == NONE) {
+                        group = method;
+                    } else {
+                        if (group instanceof Method) {
+                            ObjArray overloadedMethods = new ObjArray();
+                            overloadedMethods.add(group);
+                            group = overloadedMethods;
+                        }
+                        ((ObjArray) group).add(method);
+                    }
+                }
+                final Object old = groups.putIfAbsent(name, group);
+                if (old != null) {
+                    group = old;
+                }
+            }
+            return group == NONE ? null : group;
+        }
+
+        Field getField(String name, boolean isStatic) {
+            Field field = null;
+            for (int i = firstIndex(fields, name); i < fields.length
+                     && fields[i].getName().equals(name); ++i) {
+                if (field == null || ClassReflectBean.shadows(fields[i], field)) {
+                    field = fields[i];
+                }
+            }
+            if (field == null || Modifier.isStatic(field.getModifiers()) != isStatic) {
+                return null;
+            }
+            return field;
+        }
+
+        /**
+         * Inverse of the naming in createBeanProperties: the name component
+         * of "name" is "Name" or "name" itself.
+         */
+        String getBeanPropertyNameComponent(String name, boolean isStatic) {
+            final Map<String,Object> props = isStatic ? staticBeanProperties : instBeanProperties;
+            Object nameComponent = props.get(name);
+            if (nameComponent == null) {
+                nameComponent = NONE;
+                if (name.length() > 0) {
+                    final String capitalized = Character.toUpperCase(name.charAt(0))
+                                               + name.substring(1);
+                    if (isBeanProperty(capitalized, name, isStatic)) {
+                        nameComponent = capitalized;
+                    } else if (!capitalized.equals(name)
+                               && isBeanProperty(name, name, isStatic)) {
+                        nameComponent = name;
+                    }
+                }
+                props.put(name, nameComponent);
+            }
+            return nameComponent == NONE ? null : (String) nameComponent;
+        }
+
+        private boolean isBeanProperty(String nameComponent, String name, boolean isStatic) {
+            if (!name.equals(beanPropertyName(nameComponent))) {
+                return false;
+            }
+            return getMethodGroup("get".concat(nameComponent), isStatic) != null
+                || getMethodGroup("is".concat(nameComponent), isStatic) != null
+                || getMethodGroup("set".concat(nameComponent), isStatic) != null;
+        }
+
+        Set<String> getFieldAndMethodNames(boolean isStatic) {
+            Set<String> names = isStatic ? staticFieldAndMethods : instFieldAndMethods;
+            if (names == null) {
+                names = new HashSet<String>();
+                for (Field field : fields) {
+                    final String name = field.getName();
+                    if (getField(name, isStatic) != null
+                        && getMethodGroup(name, isStatic) != null) {
+                        names.add(name);
+                    }
+                }
+                if (isStatic) {
+                    staticFieldAndMethods = names;
+                } else {
+                    instFieldAndMethods = names;
+                }
+            }
+            return names;
+        }
+
+        private static int firstIndex(Member[] sorted, String name) {
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (sorted[mid].getName().compareTo(name) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * The static or instance members of a ClassReflectBean by name in one
+     * open addressing table: the slot of a name holds the name, its method
+     * group, its field and its bean property name component next to each
+     * other, instead of a HashMap or HashSet per kind of member.
+     */
+    private static final class MemberTable {
+        private static final int STRIDE = 4;
+        private static final int GROUP = 1;
+        private static final int FIELD = 2;
+        private static final int BEAN_PROPERTY = 3;
+
+        // name, Method or ObjArray, Field, name component per slot
+        private final Object[] table;
+        private final int groupCount;
+        private final int beanPropertyCount;
+        private final Set<String> fieldAndMethodNames;
+
+        MemberTable(Method[] methods, Collection<Field> fields,
+                    Map<String,String> beanProperties, boolean isStatic) {
+            int count = beanProperties.size();
+            for (Method method : methods) {
+                if (Modifier.isStatic(method.getModifiers()) == isStatic) {
+                    ++count;
+                }
+            }
+            for (Field field : fields) {
+                if (Modifier.isStatic(field.getModifiers()) == isStatic) {
+                    ++count;
+                }
+            }
+            // load factor below 2/3, count includes overloads and bean
+            // properties named like a member
+            final int capacity = Integer.highestOneBit(Math.max(count + (count >> 1), 2) - 1) << 1;
+            table = new Object[capacity * STRIDE];
+            int groups = 0;
+            for (Method method : methods) {
+                if (Modifier.isStatic(method.getModifiers()) != isStatic) {
+                    continue;
+                }
+                final int slot = add(method.getName());
+                final Object group = table[slot + GROUP];
+                if (group == null) {
+                    table[slot + GROUP] = method;
+                    ++groups;
+                } else {
+                    ObjArray overloadedMethods;
+                    if (group instanceof ObjArray) {
+                        overloadedMethods = (ObjArray) group;
+                    } else {
+                        overloadedMethods = new ObjArray();
+                        overloadedMethods.add(group);
+                        table[slot + GROUP] = overloadedMethods;
+                    }
+                    overloadedMethods.add(method);
+                }
+            }
+            Set<String> fieldAndMethodNames = Collections.emptySet();
+            for (Field field : fields) {
+                if (Modifier.isStatic(field.getModifiers()) != isStatic) {
+                    continue;
+                }
+                final int slot = add(field.getName());
+                table[slot + FIELD] = field;
+                if (table[slot + GROUP] != null) {
+                    if (fieldAndMethodNames.isEmpty()) {
+                        fieldAndMethodNames = new HashSet<String>();
+                    }
+                    fieldAndMethodNames.add(field.getName());
+                }
+            }
+            for (Map.Entry<String,String> entry : beanProperties.entrySet()) {
+                table[add(entry.getKey()) + BEAN_PROPERTY] = entry.getValue();
+            }
+            this.groupCount = groups;
+            this.beanPropertyCount = beanProperties.size();
+            this.fieldAndMethodNames = fieldAndMethodNames;
+        }
+
+        private static int hash(String name) {
+            final int h = name.hashCode();
+            return h ^ (h >>> 16);
+        }
+
+        /**
+         * @return the slot of the name, or -1 if it has none
+         */
+        private int indexOf(String name) {
+            final Object[] table = this.table;
+            final int mask = table.length / STRIDE - 1;
+            for (int i = hash(name) & mask; ; i = (i + 1) & mask) {
+                final Object key = table[i * STRIDE];
+                if (key == null) {
+                    return -1;
+                }
+                if (key.equals(name)) {
+                    return i * STRIDE;
+                }
+            }
+        }
+
+        private int add(String name) {
+            final int mask = table.length / STRIDE - 1;
+            for (int i = hash(name) & mask; ; i = (i + 1) & mask) {
+                final Object key = table[i * STRIDE];
+                if (key == null) {
+                    table[i * STRIDE] = name;
+                    return i * STRIDE;
+                }
+                if (key.equals(name)) {
+                    return i * STRIDE;
+                }
+            }
+        }
+
+        private Object get(String name, int column) {
+            final int slot = indexOf(name);
+            return slot < 0 ? null : table[slot + column];
+        }
+
+        boolean contains(String name) {
+            return indexOf(name) >= 0;
+        }
+
+        Object getMethodGroup(String name) {
+            return get(name, GROUP);
+        }
+
+        Field getField(String name) {
+            return (Field) get(name, FIELD);
+        }
+
+        Set<String> getFieldAndMethodNames() {
+            return fieldAndMethodNames;
+        }
+
+        Set<String> getNames() {
+            final Set<String> names = new HashSet<String>();
+            for (int i = 0; i < table.length; i += STRIDE) {
+                if (table[i] != null) {
+                    names.add((String) table[i]);
+                }
+            }
+            return names;
+        }
+
+        Map<String,Object> getMethodGroups() {
+            return new Column<Object>(GROUP, groupCount);
+        }
+
+        Map<String,String> getBeanProperties() {
+            return new Column<String>(BEAN_PROPERTY, beanPropertyCount);
+        }
+
+        /**
+         * Read only map view of the names with a value in a column.
+         */
+        private final class Column<V> extends AbstractMap<String,V> {
+            private final int column;
+            private final int size;
+
+            Column(int column, int size) {
+                this.column = column;
+                this.size = size;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public V get(Object key) {
+                return key instanceof String ? (V) MemberTable.this.get((String) key, column) : null;
+            }
+
+            @Override
+            public Set<Map.Entry<String,V>> entrySet() {
+                return new AbstractSet<Map.Entry<String,V>>() {
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+
+                    @Override
+                    public Iterator<Map.Entry<String,V>> iterator() {
+                        return new Iterator<Map.Entry<String,V>>() {
+                            private int next = advance(0);
+
+                            private int advance(int i) {
+                                while (i < table.length && table[i + column] == null) {
+                                    i += STRIDE;
+                                }
+                                return i;
+                            }
+
+                            @Override
+                            public boolean hasNext() {
+                                return next < table.length;
+                            }
+
+                            @SuppressWarnings("unchecked")
+                            @Override
+                            public Map.Entry<String,V> next() {
+                                if (next >= table.length) {
+                                    throw new NoSuchElementException();
+                                }
+                                final int slot = next;
+                                next = advance(slot + STRIDE);
+                                return new SimpleImmutableEntry<String,V>(
+                                        (String) table[slot], (V) table[slot + column]);
+                            }
+
+                            @Override
+                            public void remove() {
+                                throw new UnsupportedOperationException();
+                            }
+                        };
+                    }
+                };
+            }
+        }
+    }
+
+    private static final Map<String,Object> cache = new ConcurrentHashMap<String, Object>();
+    private static int getCacheIndex(final boolean includeProtected, final boolean includePrivate){
         int i=0;
         if(includeProtected) {
             i++;
@@ -267,37 +1006,359 @@ abstract class JavaMembers
         if(includePrivate) {
             i++;
         }
-        return cacheArray[i];
+        return i;
     }
 
     //rhino_JavaMembers_reflect_cache_on=false for disable
     private static final boolean CACHE_ON = !"false".equals(getProperty("rhino_JavaMembers_reflect_cache_on","true"));
 
+    //rhino_JavaMembers_reflect_cache_size=<classes> for a bound, 0 for none
+    private static final ClassReflectCache REFLECT_CACHE = CACHE_ON
+        ? new ClassReflectCache(Integer.parseInt(getProperty("rhino_JavaMembers_reflect_cache_size","0")))
+        : null;
+
+    static ClassReflectCache getReflectCache() {
+        return REFLECT_CACHE;
+    }
+
+    //rhino_JavaMembers_inheritedTables=false for disable, public members only
+    private static final boolean INHERITED_TABLES_ON = !"false".equals(getProperty("rhino_JavaMembers_inheritedTables","true"));
+
+    //rhino_JavaMembers_memberIndex=true for enable, public members of @IndexedMembers classes only
+    private static final boolean MEMBER_INDEX_ON = "true".equals(getProperty("rhino_JavaMembers_memberIndex","false"));
+
+    //rhino_JavaMembers_reflect_cache_file=<path> for enable
+    private static final ReflectCacheFile CACHE_FILE;
+    static {
+        final String path = getProperty("rhino_JavaMembers_reflect_cache_file", null);
+        CACHE_FILE = path == null || path.length() == 0 ? null : ReflectCacheFile.open(path);
+    }
+
     protected static ClassReflectBean createClassReflectBean(Class<?> clazz,
             boolean includeProtected,
             boolean includePrivate)
     {
-        final Map<Class,ClassReflectBean> cache = CACHE_ON ? getCache(clazz, includeProtected, includePrivate) : null;
+        final int cacheIndex = getCacheIndex(includeProtected, includePrivate);
         ClassReflectBean ret = null;
-        if(cache != null) {
-            ret = cache.get(clazz);
+        if(REFLECT_CACHE != null) {
+            ret = REFLECT_CACHE.get(clazz, cacheIndex);
             if(ret != null) {
                 return ret;
             }
         }
-        Map<MethodSignature,Method> map = new HashMap<MethodSignature,Method>();
-        discoverAccessibleMethods(clazz, map, includeProtected, includePrivate);
-        Field[] fields = getAccessibleFields(clazz, includeProtected, includePrivate);
-        final NativeJavaMethod constructorMethod = createConstructorMethod(clazz, includePrivate);
-        ret = new ClassReflectBean(constructorMethod, map,fields);
-        if(cache != null) {
-            cache.put(clazz, ret);
+        if (MEMBER_INDEX_ON && cacheIndex == 0) {
+            ret = loadClassReflectBean(clazz, loadMemberIndex(clazz), false, false);
+        }
+        if (ret == null && CACHE_FILE != null) {
+            ret = loadClassReflectBean(clazz, CACHE_FILE.get(clazz, cacheIndex),
+                    includeProtected, includePrivate);
+        }
+        if (ret == null) {
+            Map<MethodSignature,Method> map = null;
+            Field[] fields = null;
+            if (INHERITED_TABLES_ON && cacheIndex == 0 && REFLECT_CACHE != null) {
+                map = composeInheritedMethods(clazz);
+                fields = map == null ? null : composeInheritedFields(clazz);
+            }
+            if (fields == null) {
+                map = new HashMap<MethodSignature,Method>();
+                discoverAccessibleMethods(clazz, map, includeProtected, includePrivate);
+                fields = getAccessibleFields(clazz, includeProtected, includePrivate);
+            }
+            final NativeJavaMethod constructorMethod = createConstructorMethod(clazz, includePrivate);
+            ret = new ClassReflectBean(constructorMethod, map,fields);
+            if (CACHE_FILE != null) {
+                CACHE_FILE.put(clazz, cacheIndex, map.values(), fields,
+                        ret.getBeanProperties(true), ret.getBeanProperties(false));
+            }
+        }
+        if(REFLECT_CACHE != null) {
+            REFLECT_CACHE.put(clazz, cacheIndex, ret);
         }
         return ret;
     }
 
     /**
-     * Retrieves mapping of methods to accessible methods for a class.
+     * Composes the public methods of a public class (as returned by
+     * {@link Class#getMethods()}) from its declared methods and the cached
+     * tables of its superclass and interfaces, which share their Method
+     * objects with the class.
+     * @return null if the class or one of its direct supertypes is not
+     *         public, or the declared methods are not accessible
+     */
+    private static Map<MethodSignature,Method> composeInheritedMethods(Class<?> clazz)
+    {
+        if (!isPublic(clazz.getModifiers())) {
+            return null;
+        }
+        final Class<?> superclass = clazz.getSuperclass();
+        final Class<?>[] interfaces = clazz.getInterfaces();
+        if (superclass != null && !isPublic(superclass.getModifiers())) {
+            return null;
+        }
+        for (Class<?> intface : interfaces) {
+            if (!isPublic(intface.getModifiers())) {
+                return null;
+            }
+        }
+        final Method[] declared;
+        try {
+            declared = clazz.getDeclaredMethods();
+        } catch (SecurityException e) {
+            return null;
+        }
+        Map<MethodSignature,Method> map = new HashMap<MethodSignature,Method>();
+        for (Method method : declared) {
+            if (isPublic(method.getModifiers())) {
+                MethodSignature sig = new MethodSignature(method);
+                if (!map.containsKey(sig))
+                    map.put(sig, method);
+            }
+        }
+        // the superclass wins over default methods of the interfaces
+        if (superclass != null) {
+            addInheritedMethods(map, createClassReflectBean(superclass, false, false));
+        }
+        for (Class<?> intface : interfaces) {
+            addInheritedMethods(map, createClassReflectBean(intface, false, false));
+        }
+        return map;
+    }
+
+    private static void addInheritedMethods(Map<MethodSignature,Method> map,
+            ClassReflectBean inherited)
+    {
+        for (Method method : inherited.methods) {
+            // static methods of interfaces are not inherited
+            if (Modifier.isStatic(method.getModifiers())
+                    && method.getDeclaringClass().isInterface()) {
+                continue;
+            }
+            MethodSignature sig = new MethodSignature(method);
+            if (!map.containsKey(sig))
+                map.put(sig, method);
+        }
+    }
+
+    /**
+     * Composes the public fields of a class (as returned by
+     * {@link Class#getFields()}) like {@link #composeInheritedMethods}, the
+     * supertypes are cached already.
+     * @return null if the declared fields are not accessible
+     */
+    private static Field[] composeInheritedFields(Class<?> clazz)
+    {
+        final Field[] declared;
+        try {
+            declared = clazz.getDeclaredFields();
+        } catch (SecurityException e) {
+            return null;
+        }
+        // interfaces may be inherited along several paths
+        Set<Field> fields = new LinkedHashSet<Field>();
+        for (Field field : declared) {
+            if (isPublic(field.getModifiers())) {
+                fields.add(field);
+            }
+        }
+        for (Class<?> intface : clazz.getInterfaces()) {
+            Collections.addAll(fields, createClassReflectBean(intface, false, false).fields);
+        }
+        final Class<?> superclass = clazz.getSuperclass();
+        if (superclass != null) {
+            Collections.addAll(fields, createClassReflectBean(superclass, false, false).fields);
+        }
+        return fields.toArray(new Field[fields.size()]);
+    }
+
+    /**
+     * @return the entry of the member index generated for the class by
+     *         {@link org.mozilla.javascript.index.MemberIndexProcessor}, or null if it has none
+     */
+    private static ReflectCacheFile.Entry loadMemberIndex(Class<?> clazz)
+    {
+        if (!isPublic(clazz.getModifiers())
+            || !clazz.isAnnotationPresent(IndexedMembers.class)) {
+            return null;
+        }
+        try {
+            Class<?> indexClass = Class.forName(
+                clazz.getName() + MemberIndex.CLASS_SUFFIX, true, clazz.getClassLoader());
+            return ReflectCacheFile.fromIndex(
+                (MemberIndex) indexClass.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            // compiled without the processor
+        } catch (ReflectiveOperationException e) {
+            // an index the processor did not generate (no public no-arg
+            // constructor, or a failing one): the index only saves the
+            // reflection, which gives the same members
+        }
+        return null;
+    }
+
+    /**
+     * Creates the ClassReflectBean from the entry of the cache file or the
+     * member index, the methods and fields are only resolved by name.
+     * @return null if there is no valid entry for the class
+     */
+    private static ClassReflectBean loadClassReflectBean(Class<?> clazz,
+            ReflectCacheFile.Entry entry,
+            boolean includeProtected, boolean includePrivate)
+    {
+        if (entry == null) {
+            return null;
+        }
+        final Method[] methods = ReflectCacheFile.resolveMethods(clazz, entry);
+        final Field[] fields = methods == null ? null : ReflectCacheFile.resolveFields(clazz, entry);
+        if (fields == null) {
+            return null;
+        }
+        Map<MethodSignature,Method> map = new HashMap<MethodSignature,Method>();
+        for (Method method : methods) {
+            // same as discoverAccessibleMethods and getAccessibleFields
+            if (includePrivate && !method.isAccessible()) {
+                method.setAccessible(true);
+            }
+            map.put(new MethodSignature(method), method);
+        }
+        if (includeProtected || includePrivate) {
+            for (Field field : fields) {
+                if (!field.isAccessible()) {
+                    field.setAccessible(true);
+                }
+            }
+        }
+        final NativeJavaMethod constructorMethod = createConstructorMethod(clazz, includePrivate);
+        return new ClassReflectBean(constructorMethod, map, fields,
+                entry.staticBeanProperties, entry.instBeanProperties);
+    }
+
+    //rhino_JavaMembers_methodHandle=false for disable
+    protected static final boolean METHOD_HANDLE_ON = !"false".equals(getProperty("rhino_JavaMembers_methodHandle","true"));
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * Binds a bean getter to a handle of type (Object)Object, or (Object)int,
+     * (Object)long, (Object)double and (Object)boolean for getters of these
+     * primitive types so the result is not boxed by the handle. Static
+     * getters ignore the receiver. Returns null when the method can not be
+     * accessed through a handle, in that case callers go through
+     * MemberBox.invoke.
+     */
+    protected static MethodHandle createGetterHandle(MemberBox getter)
+    {
+        if (getter == null) {
+            return null;
+        }
+        return unreflect(getter.method(), getterType(getter.method().getReturnType()));
+    }
+
+    private static MethodType getterType(Class<?> type)
+    {
+        if (type == Integer.TYPE || type == Long.TYPE || type == Double.TYPE
+            || type == Boolean.TYPE) {
+            return MethodType.methodType(type, Object.class);
+        }
+        return GETTER_TYPE;
+    }
+
+    //rhino_JavaMembers_setterConverters=false for disable
+    protected static final boolean SETTER_CONVERTERS_ON = !"false".equals(getProperty("rhino_JavaMembers_setterConverters","true"));
+
+    /**
+     * Binds a bean setter to a handle of type (Object,Object)void, or
+     * (Object,int)void, (Object,long)void, (Object,double)void and
+     * (Object,boolean)void for setters of these primitive types, see
+     * {@link BeanProperty#setterKindOf}. The argument must already be
+     * converted to the setter parameter type.
+     */
+    protected static MethodHandle createSetterHandle(MemberBox setter)
+    {
+        return setter == null ? null : unreflect(setter.method(), setterType(setter.argTypes[0]));
+    }
+
+    private static MethodType setterType(Class<?> type)
+    {
+        if (SETTER_CONVERTERS_ON
+            && (type == Integer.TYPE || type == Long.TYPE || type == Double.TYPE
+                || type == Boolean.TYPE)) {
+            return MethodType.methodType(Void.TYPE, Object.class, type);
+        }
+        return SETTER_TYPE;
+    }
+
+    private static MethodHandle unreflect(Method method, MethodType type)
+    {
+        if (!METHOD_HANDLE_ON) {
+            return null;
+        }
+        try {
+            MethodHandle mh = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if (Modifier.isStatic(method.getModifiers())) {
+                mh = MethodHandles.dropArguments(mh, 0, Object.class);
+            }
+            return mh.asType(type);
+        } catch (IllegalAccessException e) {
+            // not accessible from here, e.g. public method of a non-public class
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    //rhino_JavaMembers_fieldHandle=false for disable
+    protected static final boolean FIELD_HANDLE_ON = !"false".equals(getProperty("rhino_JavaMembers_fieldHandle","true"));
+
+    /**
+     * Binds a field read to a handle typed like the bean getters of
+     * {@link #createGetterHandle}. Returns null when the field can not be
+     * accessed through a handle, in that case callers use Field.get.
+     */
+    protected static MethodHandle createFieldGetterHandle(Field field)
+    {
+        if (!FIELD_HANDLE_ON) {
+            return null;
+        }
+        try {
+            MethodHandle mh = MethodHandles.lookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                mh = MethodHandles.dropArguments(mh, 0, Object.class);
+            }
+            return mh.asType(getterType(field.getType()));
+        } catch (IllegalAccessException e) {
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Binds a field write to a handle typed like the bean setters of
+     * {@link #createSetterHandle}. Returns null for final fields, which
+     * Field.set rejects as before.
+     */
+    protected static MethodHandle createFieldSetterHandle(Field field)
+    {
+        if (!FIELD_HANDLE_ON || Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        try {
+            MethodHandle mh = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                mh = MethodHandles.dropArguments(mh, 0, Object.class);
+            }
+            return mh.asType(setterType(field.getType()));
+        } catch (IllegalAccessException e) {
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves mapping of methods to accessible methods for a class.
      * In case the class is not public, retrieves methods with same
      * signature as its public methods from public superclasses and
      * interfaces (if they exist). Basically upcasts every method to the
@@ -412,6 +1473,27 @@ abstract class JavaMembers
     }
 
 
+    /**
+     * @return the name of the bean property of the non-empty name component
+     *         of its getter/setter methods
+     */
+    private static String beanPropertyName(String nameComponent) {
+        String beanPropertyName = nameComponent;
+        char ch0 = nameComponent.charAt(0);
+        if (Character.isUpperCase(ch0)) {
+            if (nameComponent.length() == 1) {
+                beanPropertyName = nameComponent.toLowerCase();
+            } else {
+                char ch1 = nameComponent.charAt(1);
+                if (!Character.isUpperCase(ch1)) {
+                    beanPropertyName = Character.toLowerCase(ch0)
+                                       +nameComponent.substring(1);
+                }
+            }
+        }
+        return beanPropertyName;
+    }
+
     private static Map<String,String>[] createBeanProperties(Iterable<Method> methods) {
           final Map<String,String> cache1 = new HashMap<String,String>();
         final Map<String,String> cache2 = new HashMap<String,String>();
@@ -431,19 +1513,7 @@ abstract class JavaMembers
                     continue;
 
                 // Make the bean property name.
-                String beanPropertyName = nameComponent;
-                char ch0 = nameComponent.charAt(0);
-                if (Character.isUpperCase(ch0)) {
-                    if (nameComponent.length() == 1) {
-                        beanPropertyName = nameComponent.toLowerCase();
-                    } else {
-                        char ch1 = nameComponent.charAt(1);
-                        if (!Character.isUpperCase(ch1)) {
-                            beanPropertyName = Character.toLowerCase(ch0)
-                                               +nameComponent.substring(1);
-                        }
-                    }
-                }
+                String beanPropertyName = beanPropertyName(nameComponent);
                 if( Modifier.isStatic(m.getModifiers())) {
                      cache1.put(beanPropertyName, nameComponent);
                 }else {
@@ -454,6 +1524,22 @@ abstract class JavaMembers
         return new Map[] {cache1,cache2};
     }
     protected static NativeJavaMethod toNativeJavaMethod(Scriptable scope, Object value) {
+        return toNativeJavaMethod(scope, value, null);
+    }
+
+    /**
+     * @param overloads the overload cache of the method group, null to use
+     *        the cache of the NativeJavaMethod
+     */
+    protected static NativeJavaMethod toNativeJavaMethod(Scriptable scope, Object value,
+            OverloadCache overloads) {
+        return newNativeJavaMethod(scope, toMemberBoxes(value), overloads);
+    }
+
+    /**
+     * @param value the Method or the ObjArray of overloaded methods
+     */
+    protected static MemberBox[] toMemberBoxes(Object value) {
         MemberBox[] methodBoxes;
         if (value instanceof Method) {
             methodBoxes = new MemberBox[1];
@@ -468,7 +1554,22 @@ abstract class JavaMembers
                 methodBoxes[i] = new MemberBox(method);
             }
         }
-        NativeJavaMethod fun = new NativeJavaMethod(methodBoxes);
+        return methodBoxes;
+    }
+
+    /**
+     * @param scope the scope of the function, null for none
+     */
+    protected static NativeJavaMethod newNativeJavaMethod(Scriptable scope, MemberBox[] methodBoxes,
+            OverloadCache overloads) {
+        NativeJavaMethod fun;
+        if (overloads == null) {
+            fun = new NativeJavaMethod(methodBoxes);
+        } else {
+            CachingNativeJavaMethod cfun = new CachingNativeJavaMethod(methodBoxes);
+            cfun.overloads = overloads;
+            fun = cfun;
+        }
         if (scope != null) {
             ScriptRuntime.setFunctionProtoAndParent(fun, scope);
         }
@@ -626,12 +1727,149 @@ abstract class JavaMembers
         }
     }
 
+    /**
+     * Counts the created JavaMembers per class, e.g. to measure the
+     * duplicated work of threads that build the same class.
+     */
+    static final class CountingCreator implements JavaMembersCreateor {
+        private static final ClassValue<AtomicInteger> CREATIONS = new ClassValue<AtomicInteger>() {
+            @Override
+            protected AtomicInteger computeValue(Class<?> type) {
+                return new AtomicInteger();
+            }
+        };
+
+        private final JavaMembersCreateor creator;
+
+        CountingCreator(JavaMembersCreateor creator) {
+            this.creator = creator;
+        }
+
+        @Override
+        public JavaMembers createJavaMembers(Scriptable scope, Class<?> cl, boolean includeProtected) {
+            CREATIONS.get(cl).incrementAndGet();
+            return creator.createJavaMembers(scope, cl, includeProtected);
+        }
+
+        static int getCount(Class<?> cl) {
+            return CREATIONS.get(cl).get();
+        }
+    }
+
     private static final JavaMembersCreateor CREATOR;
+    //rhino_JavaMembers_countCreations=true for enable, see ClassReflectCache.getCreationCount
+    private static final boolean COUNT_CREATIONS_ON = "true".equals(getProperty("rhino_JavaMembers_countCreations","false"));
     static {
         //rhino_creator_4_JavaMembers=old
         final String creatorType = getProperty("rhino_creator_4_JavaMembers", "new");
-        CREATOR = "old".equals(creatorType) ?  new OldCreator() : new NewCreator();
+        final JavaMembersCreateor creator = "old".equals(creatorType) ?  new OldCreator() : new NewCreator();
+        CREATOR = COUNT_CREATIONS_ON ? new CountingCreator(creator) : creator;
+    }
+
+    /**
+     * @return the number of JavaMembers created for the class, -1 if they
+     *         are not counted
+     */
+    static int getCreationCount(Class<?> cl) {
+        return COUNT_CREATIONS_ON ? CountingCreator.getCount(cl) : -1;
+    }
+    //rhino_JavaMembers_singleFlight=false for disable
+    private static final boolean SINGLE_FLIGHT_ON = !"false".equals(getProperty("rhino_JavaMembers_singleFlight","true"));
+    // JavaMembers under construction, by ClassCache and class
+    private static final ConcurrentHashMap<InFlightKey,FutureTask<JavaMembers>> IN_FLIGHT
+        = new ConcurrentHashMap<InFlightKey,FutureTask<JavaMembers>>();
+
+    private static final class InFlightKey
+    {
+        final ClassCache cache;
+        final Class<?> cl;
+
+        InFlightKey(ClassCache cache, Class<?> cl) {
+            this.cache = cache;
+            this.cl = cl;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof InFlightKey)) {
+                return false;
+            }
+            final InFlightKey other = (InFlightKey) obj;
+            return cache == other.cache && cl == other.cl;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(cache) * 31 + cl.hashCode();
+        }
+    }
+
+    /**
+     * Creates the JavaMembers of the class for the ClassCache, or waits for
+     * the thread that is creating them already. The creating thread puts
+     * them into the cache before other threads may start another creation.
+     */
+    private static JavaMembers createSingleFlight(final ClassCache cache, final Class<?> cl,
+            final boolean includeProtected) {
+        final InFlightKey key = new InFlightKey(cache, cl);
+        FutureTask<JavaMembers> task = IN_FLIGHT.get(key);
+        if (task == null) {
+            final FutureTask<JavaMembers> newTask = new FutureTask<JavaMembers>(new Callable<JavaMembers>() {
+                @Override
+                public JavaMembers call() {
+                    // the previous creator may have put them and left
+                    // IN_FLIGHT after the miss of the caller
+                    final JavaMembers members = cache.isCachingEnabled()
+                        ? cache.getClassCacheMap().get(cl) : null;
+                    return members != null ? members
+                        : CREATOR.createJavaMembers(cache.getAssociatedScope(), cl, includeProtected);
+                }
+            });
+            task = IN_FLIGHT.putIfAbsent(key, newTask);
+            if (task == null) {
+                task = newTask;
+                try {
+                    newTask.run();
+                    final JavaMembers members = getDone(newTask);
+                    if (cache.isCachingEnabled()) {
+                        cache.getClassCacheMap().put(cl, members);
+                    }
+                    return members;
+                } finally {
+                    IN_FLIGHT.remove(key, newTask);
+                }
+            }
+        }
+        return getDone(task);
+    }
+
+    private static JavaMembers getDone(final FutureTask<JavaMembers> task) {
+        boolean interrupted = false;
+        try {
+            for (;;) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                // e.g. the SecurityException lookupClass falls back on
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw Context.throwAsScriptRuntimeEx(cause);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
+
     static JavaMembers lookupClass(Scriptable scope, Class<?> dynamicType,
                                    Class<?> staticType, boolean includeProtected)
     {
@@ -651,7 +1889,9 @@ abstract class JavaMembers
                 return members;
             }
             try {
-                members = CREATOR.createJavaMembers(cache.getAssociatedScope(), cl,
+                members = SINGLE_FLIGHT_ON
+                    ? createSingleFlight(cache, cl, includeProtected)
+                    : CREATOR.createJavaMembers(cache.getAssociatedScope(), cl,
                         includeProtected);
                 break;
             } catch (SecurityException e) {
@@ -689,6 +1929,30 @@ abstract class JavaMembers
     }
 }
 
+/**
+ * Field of the shared members with pre-bound accessors, so reads and writes
+ * neither box through Field.get nor check the access on every call.
+ */
+class FieldProperty
+{
+    FieldProperty(Field field, MethodHandle getterHandle, MethodHandle setterHandle)
+    {
+        this.field = field;
+        this.getterHandle = getterHandle;
+        this.getterKind = BeanProperty.kindOf(getterHandle);
+        this.setterHandle = setterHandle;
+        this.setterKind = BeanProperty.setterKindOf(setterHandle, field.getType());
+    }
+
+    final Field field;
+    // typed like BeanProperty.getterHandle
+    final MethodHandle getterHandle;
+    final int getterKind;
+    // null for final fields and if no handle could be created
+    final MethodHandle setterHandle;
+    final int setterKind;
+}
+
 class BeanProperty
 {
     BeanProperty(MemberBox getter, MemberBox setter, NativeJavaMethod setters)
@@ -698,12 +1962,110 @@ class BeanProperty
         this.setters = setters;
     }
 
+    // return type of getterHandle
+    static final int OBJECT = 0;
+    static final int INT = 1;
+    static final int LONG = 2;
+    static final int DOUBLE = 3;
+    static final int BOOLEAN = 4;
+
     MemberBox getter;
     MemberBox setter;
     NativeJavaMethod setters;
+    // argument conversion of setterHandle besides OBJECT to BOOLEAN, the
+    // primitive kinds take the unboxed argument
+    static final int STRING = 5;
+    static final int BOXED_INT = 6;
+    static final int BOXED_LONG = 7;
+    static final int BOXED_DOUBLE = 8;
+    static final int BOXED_BOOLEAN = 9;
+    static final int ENUM = 10;
+
+    // pre-bound accessors, null if the member has to be invoked by reflection
+    MethodHandle getterHandle;
+    MethodHandle setterHandle;
+    int getterKind;
+    int setterKind;
+
+    /**
+     * @param type the parameter type of the setter
+     * @return the argument conversion for the setter handle
+     */
+    static int setterKindOf(MethodHandle setterHandle, Class<?> type)
+    {
+        if (setterHandle == null || !JavaMembers.SETTER_CONVERTERS_ON) {
+            return OBJECT;
+        }
+        if (type == Integer.TYPE) {
+            return INT;
+        } else if (type == Long.TYPE) {
+            return LONG;
+        } else if (type == Double.TYPE) {
+            return DOUBLE;
+        } else if (type == Boolean.TYPE) {
+            return BOOLEAN;
+        } else if (type == String.class) {
+            return STRING;
+        } else if (type == Integer.class) {
+            return BOXED_INT;
+        } else if (type == Long.class) {
+            return BOXED_LONG;
+        } else if (type == Double.class) {
+            return BOXED_DOUBLE;
+        } else if (type == Boolean.class) {
+            return BOXED_BOOLEAN;
+        } else if (type.isEnum()) {
+            return ENUM;
+        }
+        return OBJECT;
+    }
+
+    static int kindOf(MethodHandle getterHandle)
+    {
+        if (getterHandle == null) {
+            return OBJECT;
+        }
+        Class<?> type = getterHandle.type().returnType();
+        if (type == Integer.TYPE) {
+            return INT;
+        } else if (type == Long.TYPE) {
+            return LONG;
+        } else if (type == Double.TYPE) {
+            return DOUBLE;
+        } else if (type == Boolean.TYPE) {
+            return BOOLEAN;
+        }
+        return OBJECT;
+    }
 }
 
-class FieldAndMethods extends NativeJavaMethod
+/**
+ * NativeJavaMethod that resolves overloads with the OverloadCache of its
+ * method group.
+ */
+class CachingNativeJavaMethod extends NativeJavaMethod
+{
+    static final long serialVersionUID = 3402569385484946392L;
+
+    CachingNativeJavaMethod(MemberBox[] methods)
+    {
+        super(methods);
+    }
+
+    @Override
+    int findCachedFunction(Context cx, Object[] args)
+    {
+        if (overloads != null) {
+            return overloads.find(cx, methods, args);
+        }
+        return super.findCachedFunction(cx, args);
+    }
+
+    // shared by the method objects of the group, null for the own cache
+    transient OverloadCache overloads;
+}
+
+class FieldAndMethods extends CachingNativeJavaMethod
 {
     static final long serialVersionUID = -9222428244284796755L;
 
@@ -748,128 +2110,969 @@ class JavaMembersNew extends JavaMembers
         this(scope, cl, false);
     }
 
-    private FieldAndMethods copyFieldAndMethod(Scriptable scope, Object javaObject, FieldAndMethods fam) {
-        FieldAndMethods famNew = new FieldAndMethods(scope, fam.methods,
-                                                     fam.field);
-        famNew.javaObject = javaObject;
-        return famNew;
+    private FieldAndMethods copyFieldAndMethod(Scriptable scope, Object javaObject, FieldAndMethods fam) {
+        FieldAndMethods famNew = new FieldAndMethods(scope, fam.methods,
+                                                     fam.field);
+        famNew.javaObject = javaObject;
+        famNew.overloads = fam.overloads;
+        return famNew;
+    }
+
+    /**
+     * @return the FieldAndMethods of the wrapper, bound to the Java object
+     *         once, so repeated reads return the same object as with the
+     *         copies made when wrapping
+     */
+    private FieldAndMethods getBoundFieldAndMethods(Scriptable wrapper, Object javaObject,
+            FieldAndMethods fam) {
+        final String name = fam.field.getName();
+        synchronized (boundFieldAndMethods) {
+            Map<String,FieldAndMethods> bound = boundFieldAndMethods.get(wrapper);
+            if (bound == null) {
+                bound = new HashMap<String,FieldAndMethods>(4);
+                boundFieldAndMethods.put(wrapper, bound);
+            }
+            FieldAndMethods famNew = bound.get(name);
+            if (famNew == null) {
+                final Scriptable parent = wrapper.getParentScope();
+                famNew = copyFieldAndMethod(parent != null ? parent : javaMemberScope,
+                                            javaObject, fam);
+                bound.put(name, famNew);
+            }
+            return famNew;
+        }
+    }
+
+    //private final boolean includeProtected;
+    private final boolean includePrivate;
+    private final ClassReflectBean cfCache;
+    // with lazyFieldAndMethods the FieldAndMethods of the wrappers, bound on
+    // the first read of the name; the copies refer to the parent scope of
+    // the wrapper, so the weak key is not kept alive by its value
+    private final Map<Scriptable,Map<String,FieldAndMethods>> boundFieldAndMethods
+        = LAZY_FIELD_AND_METHODS ? new WeakHashMap<Scriptable,Map<String,FieldAndMethods>>() : null;
+    //rhino_JavaMembers_lazyInit=true for enable
+    private static final boolean lazyInit = "true".equals(getProperty("rhino_JavaMembers_lazyInit","false"));
+    private final Scriptable javaMemberScope;
+    //rhino_JavaMembers_lazyFieldAndMethods=true for enable, wrapping an instance then does not copy its FieldAndMethods
+    private static final boolean LAZY_FIELD_AND_METHODS = "true".equals(getProperty("rhino_JavaMembers_lazyFieldAndMethods","false"));
+    //rhino_JavaMembers_sharedMembers=false for disable, else the scope independent members are resolved once per class
+    private static final boolean SHARED_MEMBERS_ON = !"false".equals(getProperty("rhino_JavaMembers_sharedMembers","true"));
+    //rhino_JavaMembers_mergedTable=false for disable, else static members found from instances (LC3) are kept in the instance tables
+    private static final boolean MERGED_TABLE_ON = SHARED_MEMBERS_ON && !"false".equals(getProperty("rhino_JavaMembers_mergedTable","true"));
+    //rhino_JavaMembers_negativeCacheSize=0 for disable, else the number of remembered names without a member per class
+    private static final int NEGATIVE_CACHE_SIZE = Integer.parseInt(getProperty("rhino_JavaMembers_negativeCacheSize","1024"));
+    //rhino_JavaMembers_overloadCacheSize=0 for disable, else the number of cached argument types per overloaded method group
+    private static final int OVERLOAD_CACHE_SIZE = Integer.parseInt(getProperty("rhino_JavaMembers_overloadCacheSize","32"));
+    //rhino_JavaMembers_signatureIndex=false for disable
+    private static final boolean SIGNATURE_INDEX_ON = !"false".equals(getProperty("rhino_JavaMembers_signatureIndex","true"));
+    //rhino_JavaMembers_dispatcher=true for enable
+    private static final boolean DISPATCHER_ON = "true".equals(getProperty("rhino_JavaMembers_dispatcher","false"));
+    private final MemberDispatcher dispatcher;
+    // resolved members by dispatcher slot, NOT_FOUND for names without a member
+    private final AtomicReferenceArray<Object> instSlots;
+    private final AtomicReferenceArray<Object> staticSlots;
+    // the inline cache sites of the ClassCache, null if disabled
+    private final MemberSite[] sites;
+    JavaMembersNew(Scriptable scope, Class<?> cl, boolean includeProtected)
+    {
+        //this.includeProtected = includeProtected;
+        try {
+            this.javaMemberScope = scope;
+            Context cx = ContextFactory.getGlobal().enterContext();
+            ClassShutter shutter = cx.getClassShutter();
+            if (shutter != null && !shutter.visibleToScripts(cl.getName())) {
+                throw Context.reportRuntimeError1("msg.access.prohibited",
+                                                  cl.getName());
+            }
+            // with lazyInit the tables are filled on first access, possibly
+            // by several threads sharing this instance through ClassCache
+            this.members = new ConcurrentHashMap<String,Object>();
+            this.staticMembers = new ConcurrentHashMap<String,Object>();
+            this.cl = cl;
+            includePrivate = cx.hasFeature(
+                    Context.FEATURE_ENHANCED_JAVA_ACCESS);
+            //lazyInit = true;
+            cfCache = reflect(scope, includeProtected, includePrivate);
+            dispatcher = DISPATCHER_ON ? cfCache.getDispatcher() : null;
+            final int slotCount = dispatcher == null ? 0 : dispatcher.getNames().length;
+            instSlots = new AtomicReferenceArray<Object>(slotCount);
+            staticSlots = new AtomicReferenceArray<Object>(slotCount);
+            sites = INLINE_CACHE_ON ? getSiteTable(scope) : null;
+        } finally {
+            Context.exit();
+        }
+    }
+
+    boolean has(String name, boolean isStatic)
+    {
+        if (cfCache.has(name, isStatic)) {
+            return true;
+        }
+        return findExplicitFunction(name, isStatic) != null;
+    }
+
+    Object get(Scriptable scope, String name, Object javaObject,
+               boolean isStatic)
+    {
+        Object member = sites != null && !isStatic
+            ? getSiteMember(scope, name) : getMember2(scope, name, isStatic);
+        if (member == null) {
+            member = this.getExplicitFunction(scope, name,
+                                              javaObject, isStatic);
+            if (member == null)
+                return Scriptable.NOT_FOUND;
+        }
+        if (member instanceof Scriptable) {
+            if (LAZY_FIELD_AND_METHODS && !isStatic
+                && member instanceof FieldAndMethods) {
+                // not materialized by getFieldAndMethodsObjects
+                return getBoundFieldAndMethods(scope, javaObject, (FieldAndMethods) member);
+            }
+            return member;
+        }
+        Context cx = Context.getContext();
+        Object rval;
+        Class<?> type;
+        try {
+            if (member instanceof BeanProperty) {
+                BeanProperty bp = (BeanProperty) member;
+                if (bp.getter == null)
+                    return Scriptable.NOT_FOUND;
+                if (bp.getterHandle != null) {
+                    rval = invokeGetter(bp.getterHandle, bp.getterKind, javaObject);
+                    if (bp.getterKind != BeanProperty.OBJECT
+                        && cx.getWrapFactory().getClass() == WrapFactory.class) {
+                        // WrapFactory.wrap returns numbers and booleans of
+                        // primitive type as they are
+                        return rval;
+                    }
+                } else {
+                    rval = bp.getter.invoke(javaObject, Context.emptyArgs);
+                }
+                type = bp.getter.method().getReturnType();
+            } else if (member instanceof FieldProperty) {
+                FieldProperty fp = (FieldProperty) member;
+                rval = invokeGetter(fp.getterHandle, fp.getterKind, javaObject);
+                if (fp.getterKind != BeanProperty.OBJECT
+                    && cx.getWrapFactory().getClass() == WrapFactory.class) {
+                    return rval;
+                }
+                type = fp.field.getType();
+            } else {
+                Field field = (Field) member;
+                rval = field.get(isStatic ? null : javaObject);
+                type = field.getType();
+            }
+        } catch (Exception ex) {
+            throw Context.throwAsScriptRuntimeEx(ex);
+        }
+        // Need to wrap the object before we return it.
+        scope = getTopLevelScope(scope);
+        return cx.getWrapFactory().wrap(cx, scope, rval, type);
+    }
+
+    //rhino_JavaMembers_topScopeCache=true for enable, the JavaMembers of a shared ClassCache then keep the last parent scope of each thread slot reachable
+    private static final boolean TOP_SCOPE_CACHE_ON = "true".equals(getProperty("rhino_JavaMembers_topScopeCache","false"));
+
+    /**
+     * A parent scope with its top level scope. A wrapper is parented to the
+     * scope it was created in, e.g. the activation of a nested function
+     * for the result of a Java method, and the wrappers of one such scope
+     * are usually read together.
+     */
+    private static final class TopScope {
+        final Scriptable parent;
+        final Scriptable top;
+
+        TopScope(Scriptable parent, Scriptable top) {
+            this.parent = parent;
+            this.top = top;
+        }
+    }
+
+    private static final int TOP_SCOPE_SLOTS = 8;
+    // slots one cache line (16 compressed references) apart
+    private static final int TOP_SCOPE_STRIDE = 16;
+
+    // the last resolved parent scope per thread slot, created on the first
+    // deep lookup; threads serving other scopes use other slots, so they
+    // neither miss on nor write to the entries of each other (but for
+    // threads sharing a slot). An entry keeps its scopes reachable until
+    // the next miss of the slot. The entries are immutable, a plain store
+    // publishes them.
+    private TopScope[] topScopes;
+
+    /**
+     * Same as ScriptableObject.getTopLevelScope, but the walk up from the
+     * parent scope is done once for consecutive calls of a thread with the
+     * same parent. Parent scopes of function activations and top level
+     * scopes are not changed once created; a parent scope that is
+     * re-parented by __parent__ or setParentScope afterwards keeps its old
+     * top level scope until the slot is replaced.
+     */
+    private Scriptable getTopLevelScope(Scriptable scope)
+    {
+        if (!TOP_SCOPE_CACHE_ON) {
+            return ScriptableObject.getTopLevelScope(scope);
+        }
+        final Scriptable parent = scope.getParentScope();
+        if (parent == null) {
+            return scope;
+        }
+        if (parent.getParentScope() == null) {
+            // the usual wrapper of a top level scope, nothing to cache
+            return parent;
+        }
+        TopScope[] topScopes = this.topScopes;
+        if (topScopes == null) {
+            // a lost race only loses the entries of one array
+            this.topScopes = topScopes = new TopScope[TOP_SCOPE_SLOTS * TOP_SCOPE_STRIDE];
+        }
+        final int slot = ((int) Thread.currentThread().getId() & (TOP_SCOPE_SLOTS - 1))
+            * TOP_SCOPE_STRIDE;
+        final TopScope last = topScopes[slot];
+        if (last != null && last.parent == parent) {
+            return last.top;
+        }
+        final Scriptable top = ScriptableObject.getTopLevelScope(parent);
+        topScopes[slot] = new TopScope(parent, top);
+        return top;
+    }
+
+    /**
+     * The readable bean properties of the class in one array, so a bulk read
+     * does not look up the names one by one.
+     */
+    private static final class ReadPlan {
+        // sorted
+        final String[] names;
+        final BeanProperty[] properties;
+
+        ReadPlan(String[] names, BeanProperty[] properties) {
+            this.names = names;
+            this.properties = properties;
+        }
+    }
+
+    // built on the first bulk read, a race only builds it twice
+    private volatile ReadPlan readPlan;
+
+    private ReadPlan getReadPlan()
+    {
+        ReadPlan plan = readPlan;
+        if (plan == null) {
+            Set<String> beanProperties = cfCache.getBeanProperties(false).keySet();
+            String[] candidates = beanProperties.toArray(new String[beanProperties.size()]);
+            Arrays.sort(candidates);
+            List<String> names = new ArrayList<String>(candidates.length);
+            List<BeanProperty> properties = new ArrayList<BeanProperty>(candidates.length);
+            for (String name : candidates) {
+                // as seen by get, a property may be masked by a field
+                Object member = getMember2(javaMemberScope, name, false);
+                if (member instanceof BeanProperty && ((BeanProperty) member).getter != null) {
+                    names.add(name);
+                    properties.add((BeanProperty) member);
+                }
+            }
+            plan = new ReadPlan(names.toArray(new String[names.size()]),
+                                properties.toArray(new BeanProperty[properties.size()]));
+            readPlan = plan;
+        }
+        return plan;
+    }
+
+    @Override
+    String[] getBeanPropertyNames()
+    {
+        return getReadPlan().names;
+    }
+
+    /**
+     * Reads the properties in one pass over the read plan, the context, wrap
+     * factory and top level scope are looked up once for all of them. Names
+     * that are not readable bean properties are read by {@link #get}.
+     */
+    @Override
+    Object[] readBeanProperties(Scriptable scope, Object javaObject, String[] names)
+    {
+        final ReadPlan plan = getReadPlan();
+        if (names == null) {
+            names = plan.names;
+        }
+        final Context cx = Context.getContext();
+        final WrapFactory wrapFactory = cx.getWrapFactory();
+        final boolean plainWrap = wrapFactory.getClass() == WrapFactory.class;
+        final Scriptable topScope = getTopLevelScope(scope);
+        final Object[] values = new Object[names.length];
+        for (int i = 0; i != names.length; ++i) {
+            final int index = names == plan.names ? i : Arrays.binarySearch(plan.names, names[i]);
+            if (index < 0) {
+                values[i] = getOrUndefined(scope, names[i], javaObject);
+                continue;
+            }
+            final BeanProperty bp = plan.properties[index];
+            final Object rval = readBeanProperty(bp, javaObject);
+            if (bp.getterKind != BeanProperty.OBJECT && plainWrap) {
+                values[i] = rval;
+            } else {
+                values[i] = wrapFactory.wrap(cx, topScope, rval, bp.getter.method().getReturnType());
+            }
+        }
+        return values;
+    }
+
+    @Override
+    Object[] readBeanPropertyValues(Scriptable scope, Object javaObject)
+    {
+        final BeanProperty[] properties = getReadPlan().properties;
+        final Object[] values = new Object[properties.length];
+        for (int i = 0; i != properties.length; ++i) {
+            values[i] = readBeanProperty(properties[i], javaObject);
+        }
+        return values;
+    }
+
+    private static Object readBeanProperty(BeanProperty bp, Object javaObject)
+    {
+        if (bp.getterHandle != null) {
+            return invokeGetter(bp.getterHandle, bp.getterKind, javaObject);
+        }
+        try {
+            return bp.getter.invoke(javaObject, Context.emptyArgs);
+        } catch (Exception ex) {
+            throw Context.throwAsScriptRuntimeEx(ex);
+        }
+    }
+
+    private static Object invokeGetter(MethodHandle getter, int getterKind, Object javaObject)
+    {
+        try {
+            switch (getterKind) {
+              case BeanProperty.INT:
+                return ScriptRuntime.wrapInt((int) getter.invokeExact(javaObject));
+              case BeanProperty.LONG:
+                return Long.valueOf((long) getter.invokeExact(javaObject));
+              case BeanProperty.DOUBLE:
+                return ScriptRuntime.wrapNumber((double) getter.invokeExact(javaObject));
+              case BeanProperty.BOOLEAN:
+                return ScriptRuntime.wrapBoolean((boolean) getter.invokeExact(javaObject));
+              default:
+                return getter.invokeExact(javaObject);
+            }
+        } catch (Throwable t) {
+            throw Context.throwAsScriptRuntimeEx(t);
+        }
+    }
+
+    private static void invokeFieldSetter(FieldProperty fp, Object javaObject, Object value)
+    {
+        try {
+            invokeSetter(fp.setterHandle, fp.setterKind, fp.field.getType(), javaObject, value);
+        } catch (ClassCastException castEx) {
+            // Field.set reports this as IllegalArgumentException
+            throw Context.reportRuntimeError3(
+                "msg.java.internal.field.type",
+                value.getClass().getName(), fp.field,
+                javaObject.getClass().getName());
+        } catch (Throwable t) {
+            throw Context.throwAsScriptRuntimeEx(t);
+        }
+    }
+
+    /**
+     * Converts the value with the converter of the setter kind and calls the
+     * setter. The converters take the common JS values directly and leave
+     * everything else, including the errors, to Context.jsToJava.
+     */
+    private static void invokeSetter(MethodHandle setter, int setterKind, Class<?> type,
+                                     Object javaObject, Object value) throws Throwable
+    {
+        switch (setterKind) {
+          case BeanProperty.INT:
+            setter.invokeExact(javaObject, toInt(value));
+            return;
+          case BeanProperty.LONG:
+            setter.invokeExact(javaObject, toLong(value));
+            return;
+          case BeanProperty.DOUBLE:
+            setter.invokeExact(javaObject, toDouble(value));
+            return;
+          case BeanProperty.BOOLEAN:
+            setter.invokeExact(javaObject, toBoolean(value));
+            return;
+          default:
+            setter.invokeExact(javaObject, convert(setterKind, type, value));
+        }
+    }
+
+    private static Object convert(int setterKind, Class<?> type, Object value)
+    {
+        if (value == null && setterKind != BeanProperty.OBJECT) {
+            return null;
+        }
+        switch (setterKind) {
+          case BeanProperty.STRING:
+            if (value instanceof CharSequence) {
+                return value.toString();
+            }
+            break;
+          case BeanProperty.BOXED_INT:
+            if (value instanceof Integer) {
+                return value;
+            }
+            if (value instanceof Double) {
+                final double d = ((Double) value).doubleValue();
+                if (d >= Integer.MIN_VALUE && d <= Integer.MAX_VALUE) {
+                    return Integer.valueOf((int) d);
+                }
+            }
+            break;
+          case BeanProperty.BOXED_LONG:
+            if (value instanceof Long) {
+                return value;
+            }
+            if (value instanceof Integer || value instanceof Double) {
+                return Long.valueOf(toLong(value));
+            }
+            break;
+          case BeanProperty.BOXED_DOUBLE:
+            if (value instanceof Double) {
+                return value;
+            }
+            if (value instanceof Number) {
+                return Double.valueOf(((Number) value).doubleValue());
+            }
+            break;
+          case BeanProperty.BOXED_BOOLEAN:
+            if (value instanceof Boolean) {
+                return value;
+            }
+            break;
+          case BeanProperty.ENUM:
+            if (value instanceof Wrapper) {
+                final Object unwrapped = ((Wrapper) value).unwrap();
+                if (type.isInstance(unwrapped)) {
+                    return unwrapped;
+                }
+            }
+            break;
+        }
+        return Context.jsToJava(value, type);
+    }
+
+    private static int toInt(Object value)
+    {
+        if (value instanceof Integer) {
+            return ((Integer) value).intValue();
+        }
+        if (value instanceof Double) {
+            // NaN fails both tests, truncation is the rounding of jsToJava
+            final double d = ((Double) value).doubleValue();
+            if (d >= Integer.MIN_VALUE && d <= Integer.MAX_VALUE) {
+                return (int) d;
+            }
+        }
+        return ((Integer) Context.jsToJava(value, Integer.TYPE)).intValue();
     }
 
-    //private final boolean includeProtected;
-    private final boolean includePrivate;
-    private final ClassReflectBean cfCache;
-    //rhino_JavaMembers_lazyInit=true for enable
-    private static final boolean lazyInit = "true".equals(getProperty("rhino_JavaMembers_lazyInit","false"));
-    private final Scriptable javaMemberScope;
-    JavaMembersNew(Scriptable scope, Class<?> cl, boolean includeProtected)
+    private static long toLong(Object value)
     {
-        //this.includeProtected = includeProtected;
-        try {
-            this.javaMemberScope = scope;
-            Context cx = ContextFactory.getGlobal().enterContext();
-            ClassShutter shutter = cx.getClassShutter();
-            if (shutter != null && !shutter.visibleToScripts(cl.getName())) {
-                throw Context.reportRuntimeError1("msg.access.prohibited",
-                                                  cl.getName());
+        if (value instanceof Integer) {
+            return ((Integer) value).intValue();
+        }
+        if (value instanceof Double) {
+            final double d = ((Double) value).doubleValue();
+            // the long range of jsToJava
+            if (d >= -0x1p63 && d < 0x1p63) {
+                return (long) d;
             }
-            this.members = new HashMap<String,Object>();
-            this.staticMembers = new HashMap<String,Object>();
-            this.cl = cl;
-            includePrivate = cx.hasFeature(
-                    Context.FEATURE_ENHANCED_JAVA_ACCESS);
-            //lazyInit = true;
-            cfCache = reflect(scope, includeProtected, includePrivate);
-        } finally {
-            Context.exit();
         }
+        return ((Long) Context.jsToJava(value, Long.TYPE)).longValue();
     }
 
-    boolean has(String name, boolean isStatic)
+    private static double toDouble(Object value)
     {
-        if (cfCache.has(name, isStatic)) {
-            return true;
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
         }
-        return findExplicitFunction(name, isStatic) != null;
+        return ((Double) Context.jsToJava(value, Double.TYPE)).doubleValue();
     }
 
-    Object get(Scriptable scope, String name, Object javaObject,
-               boolean isStatic)
+    private static boolean toBoolean(Object value)
     {
-        Object member = getMember2(scope, name, isStatic);
-        if (member == null) {
-            member = this.getExplicitFunction(scope, name,
-                                              javaObject, isStatic);
-            if (member == null)
-                return Scriptable.NOT_FOUND;
-        }
-        if (member instanceof Scriptable) {
-            return member;
-        }
-        Context cx = Context.getContext();
-        Object rval;
-        Class<?> type;
-        try {
-            if (member instanceof BeanProperty) {
-                BeanProperty bp = (BeanProperty) member;
-                if (bp.getter == null)
-                    return Scriptable.NOT_FOUND;
-                rval = bp.getter.invoke(javaObject, Context.emptyArgs);
-                type = bp.getter.method().getReturnType();
-            } else {
-                Field field = (Field) member;
-                rval = field.get(isStatic ? null : javaObject);
-                type = field.getType();
-            }
-        } catch (Exception ex) {
-            throw Context.throwAsScriptRuntimeEx(ex);
+        if (value instanceof Boolean) {
+            return ((Boolean) value).booleanValue();
         }
-        // Need to wrap the object before we return it.
-        scope = ScriptableObject.getTopLevelScope(scope);
-        return cx.getWrapFactory().wrap(cx, scope, rval, type);
+        return ((Boolean) Context.jsToJava(value, Boolean.TYPE)).booleanValue();
     }
 
     private Object getMember2(Scriptable scope, String name, boolean isStatic) {
+        if (NEGATIVE_CACHE_SIZE > 0 && cfCache.isMissing(name, isStatic)) {
+            return null;
+        }
         Object member = getMember(scope, name, isStatic);
         if (member == null && !isStatic) {
             // Try to get static member from instance (LC3)
             member = getMember(scope, name, true);
-            if( member == null) {
-                final Map<String,Object> ht = isStatic ? staticMembers : members;
-                return null;
+        }
+        if (member == null || member == Scriptable.NOT_FOUND) {
+            // explicit signatures are published to the table on first use
+            if (NEGATIVE_CACHE_SIZE > 0 && name.indexOf('(') < 0) {
+                cfCache.addMissing(name, isStatic, NEGATIVE_CACHE_SIZE);
+            }
+            return null;
+        }
+        return member;
+    }
+
+    /**
+     * Inline cache of the property reads with one name from instances,
+     * shared by the JavaMembersNew of one ClassCache. It holds the member
+     * resolved for each receiver class seen with the name: one entry is
+     * monomorphic, up to INLINE_CACHE_SIZE entries polymorphic; a site that
+     * sees more receiver classes becomes megamorphic and caches nothing
+     * from then on. Sites are immutable, a new one replaces the old.
+     */
+    static final class MemberSite {
+        final String name;
+        // the JavaMembersNew of the receiver classes, null once megamorphic
+        final JavaMembers[] receivers;
+        final Object[] members;
+
+        MemberSite(String name, JavaMembers[] receivers, Object[] members) {
+            this.name = name;
+            this.receivers = receivers;
+            this.members = members;
+        }
+
+        boolean matches(String key) {
+            // compiled scripts pass the same name constant at every execution
+            return name == key || name.equals(key);
+        }
+
+        Object lookup(JavaMembers receiver) {
+            final JavaMembers[] receivers = this.receivers;
+            if (receivers != null) {
+                for (int i = 0; i != receivers.length; ++i) {
+                    if (receivers[i] == receiver) {
+                        return members[i];
+                    }
+                }
+            }
+            return null;
+        }
+
+        MemberSite add(JavaMembers receiver, Object member) {
+            if (receivers == null) {
+                return this;
+            }
+            final int n = receivers.length;
+            if (n >= INLINE_CACHE_SIZE) {
+                return new MemberSite(name, null, null);
+            }
+            final JavaMembers[] newReceivers = Arrays.copyOf(receivers, n + 1);
+            final Object[] newMembers = Arrays.copyOf(members, n + 1);
+            newReceivers[n] = receiver;
+            newMembers[n] = member;
+            return new MemberSite(name, newReceivers, newMembers);
+        }
+    }
+
+    //rhino_JavaMembers_inlineCache=true for enable
+    private static final boolean INLINE_CACHE_ON = SHARED_MEMBERS_ON && "true".equals(getProperty("rhino_JavaMembers_inlineCache","false"));
+    //rhino_JavaMembers_inlineCacheSize=4, the number of receiver classes per site before it is megamorphic
+    private static final int INLINE_CACHE_SIZE = Integer.parseInt(getProperty("rhino_JavaMembers_inlineCacheSize","4"));
+    // direct mapped by the hash of the name, a power of two
+    private static final int SITE_TABLE_SIZE = 256;
+    private static final Object SITES_KEY = "JavaMembersNew.sites";
+
+    /**
+     * @return the site table of the ClassCache scope, created on first use
+     */
+    private static MemberSite[] getSiteTable(Scriptable scope) {
+        if (!(scope instanceof ScriptableObject)) {
+            return null;
+        }
+        final ScriptableObject so = (ScriptableObject) scope;
+        Object table = so.getAssociatedValue(SITES_KEY);
+        if (table == null) {
+            table = so.associateValue(SITES_KEY, new MemberSite[SITE_TABLE_SIZE]);
+        }
+        return (MemberSite[]) table;
+    }
+
+    /**
+     * getMember2 for instances through the inline cache: a hit compares the
+     * name and the receiver members only.
+     */
+    private Object getSiteMember(final Scriptable scope, final String name) {
+        final int index = name.hashCode() & (SITE_TABLE_SIZE - 1);
+        final MemberSite site = sites[index];
+        if (site != null) {
+            if (!site.matches(name)) {
+                // a slot keeps its first name, colliding names are not cached
+                return getMember2(scope, name, false);
+            }
+            final Object member = site.lookup(this);
+            if (member != null) {
+                return member;
             }
+            if (site.receivers == null) {
+                return getMember2(scope, name, false);
+            }
+        }
+        final Object member = getMember2(scope, name, false);
+        if (member != null) {
+            // the shared members are never replaced in the tables, so the
+            // site may keep them; a lost update only costs another miss
+            sites[index] = site == null
+                ? new MemberSite(name, new JavaMembers[] { this }, new Object[] { member })
+                : site.add(this, member);
+        }
+        return member;
+    }
+
+    /**
+     * @return the member of the table only: unlike getMember2 no static
+     *         member for an instance lookup, which the merged table also
+     *         holds once read from an instance (LC3)
+     */
+    private Object getOwnMember(final Scriptable scope, final String name, final boolean isStatic) {
+        final Object member = getMember(scope, name, isStatic);
+        if (MERGED_TABLE_ON && !isStatic && member != null && member == staticMembers.get(name)) {
+            return null;
         }
-        return member == Scriptable.NOT_FOUND ? null : member;
+        return member;
     }
 
     private final Object getMember(final Scriptable scope, final String name, final boolean isStatic) {
+        if (dispatcher != null) {
+            final int slot = dispatcher.indexOf(name);
+            if (slot >= 0) {
+                final AtomicReferenceArray<Object> slots = isStatic ? staticSlots : instSlots;
+                Object member = slots.get(slot);
+                if (member == null) {
+                    member = lookupMember(scope, name, isStatic);
+                    slots.compareAndSet(slot, null, member == null ? Scriptable.NOT_FOUND : member);
+                    member = slots.get(slot);
+                }
+                return member == Scriptable.NOT_FOUND ? null : member;
+            }
+        }
+        return lookupMember(scope, name, isStatic);
+    }
+
+    private Object lookupMember(final Scriptable scope, final String name, final boolean isStatic) {
         final Map<String,Object> ht = isStatic ? staticMembers : members;
         Object member = ht.get(name);
+        if (SHARED_MEMBERS_ON) {
+            if (member == null && !isStatic && MERGED_TABLE_ON) {
+                return lookupInstanceMember(name);
+            }
+            if (member == null) {
+                final Object shared = getSharedMember(cfCache, name, isStatic, includePrivate);
+                if (shared != null) {
+                    member = publishMember(ht, name, null, bindSharedMember(name, shared, isStatic));
+                }
+            }
+            return member;
+        }
         if(lazyInit && member == null) {
             final Object m1  = initFieldAndMethod(name,ht,isStatic);
-            Map<String,String> props = isStatic ? cfCache.staticBeanProperties : cfCache.instBeanProperties;
-            final String nameComponent = props.get(name);
+            final String nameComponent = cfCache.getBeanPropertyNameComponent(name, isStatic);
             if(nameComponent != null) {
                 member = initBeanProperty(name, nameComponent, ht, isStatic);
                 if(member == null) {
-                    member =m1;
+                    // masked by m1, or published by another thread meanwhile
+                    member = ht.get(name);
                 }
                } else {
                    member = m1;
                }
 
+            if (member != null && member != m1) {
+                // m1 is already published by initFieldAndMethod, a bean
+                // property may only replace a private field
+                member = publishMember(ht, name, m1, member);
+            }
+        }
+        return member;
+    }
+
+    /**
+     * Field and methods of the same name, bound to a scope as FieldAndMethods.
+     */
+    static final class SharedFieldAndMethods
+    {
+        final MemberBox[] methods;
+        final Field field;
+
+        SharedFieldAndMethods(MemberBox[] methods, Field field) {
+            this.methods = methods;
+            this.field = field;
+        }
+    }
+
+    /**
+     * Shared member of the instance view of a class, with the table it
+     * belongs to.
+     */
+    static final class SharedMember
+    {
+        final Object member;
+        final boolean isStatic;
+
+        SharedMember(Object member, boolean isStatic) {
+            this.member = member;
+            this.isStatic = isStatic;
+        }
+    }
+
+    /**
+     * @return the shared member with the name as seen from instances: the
+     *         instance member, else the static member (LC3), or null
+     */
+    private static SharedMember getInstanceMember(final ClassReflectBean cfCache, final String name,
+            final boolean includePrivate) {
+        SharedMember entry = cfCache.instView.get(name);
+        if (entry == null) {
+            Object member = getSharedMember(cfCache, name, false, includePrivate);
+            boolean isStatic = false;
+            if (member == null) {
+                member = getSharedMember(cfCache, name, true, includePrivate);
+                isStatic = true;
+            }
+            if (member == null) {
+                // the negative cache of getMember2 keeps misses
+                return null;
+            }
+            entry = new SharedMember(member, isStatic);
+            final SharedMember old = cfCache.instView.putIfAbsent(name, entry);
+            if (old != null) {
+                entry = old;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Binds the member of the instance view to this scope. A static member
+     * is bound once, in the static table, and then also published in the
+     * instance table, so the next access from an instance is one probe.
+     */
+    private Object lookupInstanceMember(final String name) {
+        final SharedMember entry = getInstanceMember(cfCache, name, includePrivate);
+        if (entry == null) {
+            return null;
+        }
+        Object member;
+        if (entry.isStatic) {
+            member = staticMembers.get(name);
+            if (member == null) {
+                member = publishMember(staticMembers, name, null, bindSharedMember(name, entry.member, true));
+            }
+        } else {
+            member = bindSharedMember(name, entry.member, false);
+        }
+        return publishMember(members, name, null, member);
+    }
+
+    /**
+     * @return the scope independent member of the class with the name: the
+     *         MemberBox[] of a method group, a FieldProperty or Field,
+     *         SharedFieldAndMethods or a BeanProperty, or null if there is none. The same member is
+     *         returned for all scopes.
+     */
+    private static Object getSharedMember(final ClassReflectBean cfCache, final String name,
+            final boolean isStatic, final boolean includePrivate) {
+        final ConcurrentHashMap<String,Object> shared = isStatic ? cfCache.staticShared : cfCache.instShared;
+        Object member = shared.get(name);
+        if (member == null && !cfCache.sharedDone) {
+            member = resolveFieldAndMethods(cfCache, name, isStatic);
+            final String nameComponent = cfCache.getBeanPropertyNameComponent(name, isStatic);
+            if (nameComponent != null) {
+                final BeanProperty bp = resolveBeanProperty(cfCache, member, nameComponent,
+                        isStatic, includePrivate);
+                if (bp != null) {
+                    member = bp;
+                }
+            }
+            // misses are not kept, the names of a script are unbounded
             if (member != null) {
-                ht.put(name, member);
+                final Object old = shared.putIfAbsent(name, member);
+                if (old != null) {
+                    member = old;
+                }
             }
         }
         return member;
     }
 
+    private static Object resolveFieldAndMethods(final ClassReflectBean cfCache, final String name,
+            final boolean isStatic) {
+        final Field field = isStatic ? cfCache.getStaticField(name) : cfCache.getInstField(name);
+        final Object group = cfCache.getMethodGroup(name, isStatic);
+        if (group == null) {
+            return field == null ? null : toFieldProperty(field);
+        }
+        final MemberBox[] methods = toMemberBoxes(group);
+        return field == null ? methods : new SharedFieldAndMethods(methods, field);
+    }
+
+    /**
+     * @return the FieldProperty of the field, or the field itself if it can
+     *         not be read through a handle
+     */
+    private static Object toFieldProperty(final Field field) {
+        final MethodHandle getter = createFieldGetterHandle(field);
+        if (getter == null) {
+            return field;
+        }
+        return new FieldProperty(field, getter, createFieldSetterHandle(field));
+    }
+
+    /**
+     * Like initBeanProperty, but with the shared members.
+     * @param member the field and methods of the property name, or null
+     */
+    private static BeanProperty resolveBeanProperty(final ClassReflectBean cfCache, final Object member,
+            final String nameComponent, final boolean isStatic, final boolean includePrivate) {
+        if (member != null) {
+            final Field field = member instanceof FieldProperty
+                ? ((FieldProperty) member).field
+                : member instanceof Field ? (Field) member : null;
+            // A private field shouldn't mask a public getter/setter
+            if (!includePrivate || field == null ||
+                !Modifier.isPrivate(field.getModifiers()))
+            {
+                return null;
+            }
+        }
+        MemberBox getter = null;
+        MemberBox[] getters = getSharedMethods(cfCache, "get".concat(nameComponent), isStatic, includePrivate);
+        if (getters != null) {
+            getter = extractGetMethod(getters, isStatic);
+        }
+        if (getter == null) {
+            getters = getSharedMethods(cfCache, "is".concat(nameComponent), isStatic, includePrivate);
+            if (getters != null) {
+                getter = extractGetMethod(getters, isStatic);
+            }
+        }
+        MemberBox setter = null;
+        NativeJavaMethod setters = null;
+        final String setterName = "set".concat(nameComponent);
+        final MemberBox[] setterMethods = getSharedMethods(cfCache, setterName, isStatic, includePrivate);
+        if (setterMethods != null) {
+            if (getter != null) {
+                setter = extractSetMethod(getter.method().getReturnType(), setterMethods, isStatic);
+            } else {
+                setter = extractSetMethod(setterMethods, isStatic);
+            }
+            if (setterMethods.length > 1) {
+                // called with the scope of the caller, so it needs none
+                setters = newNativeJavaMethod(null, setterMethods,
+                        overloadCache(cfCache, setterName, setterMethods, isStatic));
+            }
+        }
+        BeanProperty bp = new BeanProperty(getter, setter, setters);
+        bp.getterHandle = createGetterHandle(getter);
+        bp.getterKind = BeanProperty.kindOf(bp.getterHandle);
+        bp.setterHandle = createSetterHandle(setter);
+        bp.setterKind = BeanProperty.setterKindOf(bp.setterHandle, setter == null ? null : setter.argTypes[0]);
+        return bp;
+    }
+
+    private static MemberBox[] getSharedMethods(final ClassReflectBean cfCache, final String name,
+            final boolean isStatic, final boolean includePrivate) {
+        final Object member = getSharedMember(cfCache, name, isStatic, includePrivate);
+        if (member instanceof MemberBox[]) {
+            return (MemberBox[]) member;
+        }
+        if (member instanceof SharedFieldAndMethods) {
+            return ((SharedFieldAndMethods) member).methods;
+        }
+        return null;
+    }
+
+    /**
+     * Resolves all shared members of the class up front, as the eager mode
+     * does.
+     */
+    @Override
+    void resolveSharedMembers() {
+        if (SHARED_MEMBERS_ON) {
+            resolveSharedMembers(cfCache, includePrivate);
+        }
+    }
+
+    /**
+     * Resolves all shared members of the class, for the eager mode.
+     */
+    private static void resolveSharedMembers(final ClassReflectBean cfCache, final boolean includePrivate) {
+        if (cfCache.sharedDone) {
+            return;
+        }
+        for (int tableCursor = 0; tableCursor != 2; ++tableCursor) {
+            final boolean isStatic = (tableCursor == 0);
+            for (String name : cfCache.getMembers(isStatic).keySet()) {
+                getSharedMember(cfCache, name, isStatic, includePrivate);
+            }
+            for (String name : cfCache.getBeanProperties(isStatic).keySet()) {
+                getSharedMember(cfCache, name, isStatic, includePrivate);
+            }
+        }
+        for (Field field : cfCache.fields) {
+            getSharedMember(cfCache, field.getName(), Modifier.isStatic(field.getModifiers()), includePrivate);
+        }
+        cfCache.sharedDone = true;
+    }
+
+    /**
+     * @return the member of this scope for the shared member
+     */
+    private Object bindSharedMember(final String name, final Object shared, final boolean isStatic) {
+        if (shared instanceof MemberBox[]) {
+            final MemberBox[] methods = (MemberBox[]) shared;
+            return newNativeJavaMethod(javaMemberScope, methods, overloadCache(cfCache, name, methods, isStatic));
+        }
+        if (shared instanceof SharedFieldAndMethods) {
+            final SharedFieldAndMethods sfam = (SharedFieldAndMethods) shared;
+            final NativeJavaMethod jm = newNativeJavaMethod(javaMemberScope, sfam.methods,
+                    overloadCache(cfCache, name, sfam.methods, isStatic));
+            return initFieldAndMethods(javaMemberScope, sfam.field, name, isStatic, jm);
+        }
+        return shared;
+    }
+
+    private static OverloadCache overloadCache(final ClassReflectBean cfCache, final String name,
+            final MemberBox[] methods, final boolean isStatic) {
+        return OVERLOAD_CACHE_SIZE > 0 && methods.length > 1
+            ? cfCache.getOverloadCache(name, isStatic, OVERLOAD_CACHE_SIZE) : null;
+    }
+
+    /**
+     * Publishes a lazily created member, unless another thread was faster.
+     * @return the member that is in the table now
+     */
+    private static Object publishMember(final Map<String,Object> ht, final String name,
+            final Object expected, final Object member) {
+        if (expected == null) {
+            final Object old = ht.putIfAbsent(name, member);
+            return old == null ? member : old;
+        }
+        if (ht.replace(name, expected, member)) {
+            return member;
+        }
+        return ht.get(name);
+    }
+
     private Object initFieldAndMethod(final String name, Map<String,Object> ht,final boolean isStatic) {
         Object member;
         member = isStatic ? cfCache.getStaticField(name) : cfCache.getInstField(name);
-        final Map<String, Object> mbers = cfCache.getMembers(isStatic);
-        final Object value = mbers.get(name);
-        NativeJavaMethod jm = value == null ? null : toNativeJavaMethod(javaMemberScope, value);
+        final Object value = cfCache.getMethodGroup(name, isStatic);
+        NativeJavaMethod jm = value == null ? null : toNativeJavaMethod(javaMemberScope, cfCache, name, value, isStatic);
         if(jm != null) {
             if(member != null) {
                 Field fld = (Field)member;
@@ -879,7 +3082,7 @@ class JavaMembersNew extends JavaMembers
             }
         }
         if(member != null) {
-            ht.put(name, member);
+            member = publishMember(ht, name, null, member);
         }
         return member ;
     }
@@ -893,6 +3096,13 @@ class JavaMembersNew extends JavaMembers
         if (member instanceof FieldAndMethods) {
             FieldAndMethods fam = (FieldAndMethods) member;
             member = fam.field;
+        } else if (member instanceof FieldProperty) {
+            FieldProperty fp = (FieldProperty) member;
+            if (fp.setterHandle != null) {
+                invokeFieldSetter(fp, javaObject, value);
+                return;
+            }
+            member = fp.field;
         }
 
         // Is this a bean property "set"?
@@ -906,16 +3116,24 @@ class JavaMembersNew extends JavaMembers
             // setter to use:
             if (bp.setters == null || value == null) {
                 Class<?> setType = bp.setter.argTypes[0];
-                Object[] args = { Context.jsToJava(value, setType) };
-                try {
-                    bp.setter.invoke(javaObject, args);
-                } catch (Exception ex) {
-                  throw Context.throwAsScriptRuntimeEx(ex);
+                if (bp.setterHandle != null) {
+                    try {
+                        invokeSetter(bp.setterHandle, bp.setterKind, setType, javaObject, value);
+                    } catch (Throwable t) {
+                        throw Context.throwAsScriptRuntimeEx(t);
+                    }
+                } else {
+                    Object[] args = { Context.jsToJava(value, setType) };
+                    try {
+                        bp.setter.invoke(javaObject, args);
+                    } catch (Exception ex) {
+                      throw Context.throwAsScriptRuntimeEx(ex);
+                    }
                 }
             } else {
                 Object[] args = { value };
                 bp.setters.call(Context.getContext(),
-                                ScriptableObject.getTopLevelScope(scope),
+                                getTopLevelScope(scope),
                                 scope, args);
             }
         }
@@ -953,14 +3171,18 @@ class JavaMembersNew extends JavaMembers
     Map<String,FieldAndMethods> getFieldAndMethodsObjects(Scriptable scope,
             Object javaObject, boolean isStatic)
     {
-        Set<String> names = isStatic ? cfCache.staticFieldAndMethods : cfCache.instFieldAndMethods;
+        if (LAZY_FIELD_AND_METHODS && !isStatic) {
+            // NativeJavaObject falls back to get, which binds a copy on access
+            return null;
+        }
+        Set<String> names = cfCache.getFieldAndMethodNames(isStatic);
         int len = names.size();
           if (names.size()<1) {
             return null;
         }
         Map<String,FieldAndMethods> result = new HashMap<String,FieldAndMethods>(len);
         for (String name: names) {
-            final Object member = getMember(this.javaMemberScope, name, isStatic);
+            final Object member = getOwnMember(this.javaMemberScope, name, isStatic);
             if(member == null) {
                 continue;
             }
@@ -976,6 +3198,10 @@ class JavaMembersNew extends JavaMembers
         int sigStart = name.indexOf('(');
         if (sigStart < 0) { return null; }
 
+        if (SIGNATURE_INDEX_ON) {
+            return cfCache.getExplicitMember(name, sigStart, isStatic);
+        }
+
         MemberBox[] methodsOrCtors = null;
         boolean isCtor = (isStatic && sigStart == 0);
 
@@ -986,7 +3212,7 @@ class JavaMembersNew extends JavaMembers
 
             // Explicit request for an overloaded method
             String trueName = name.substring(0,sigStart);
-            Object obj = getMember(javaMemberScope, trueName, isStatic);
+            Object obj = getOwnMember(javaMemberScope, trueName, isStatic);
             if (obj instanceof NativeJavaMethod) {
                 NativeJavaMethod njm = (NativeJavaMethod)obj;
                 methodsOrCtors = njm.methods;
@@ -1023,19 +3249,17 @@ class JavaMembersNew extends JavaMembers
                 NativeJavaConstructor fun =
                     new NativeJavaConstructor(methodOrCtor);
                 fun.setPrototype(prototype);
-                member = fun;
-                ht.put(name, fun);
+                member = publishMember(ht, name, null, fun);
             } else {
                 final String trueName = methodOrCtor.getName();
-                member = getMember(javaMemberScope, trueName, isStatic);
+                member = getOwnMember(javaMemberScope, trueName, isStatic);
 
                 if (member instanceof NativeJavaMethod &&
                     ((NativeJavaMethod)member).methods.length > 1 ) {
                     NativeJavaMethod fun =
                         new NativeJavaMethod(methodOrCtor, name);
                     fun.setPrototype(prototype);
-                    ht.put(name, fun);
-                    member = fun;
+                    member = publishMember(ht, name, null, fun);
                 }
             }
         }
@@ -1080,19 +3304,31 @@ class JavaMembersNew extends JavaMembers
         }
     }
 
+    private static NativeJavaMethod toNativeJavaMethod(Scriptable scope, ClassReflectBean cfCache,
+            String name, Object value, boolean isStatic) {
+        final OverloadCache overloads = OVERLOAD_CACHE_SIZE > 0 && value instanceof ObjArray
+            ? cfCache.getOverloadCache(name, isStatic, OVERLOAD_CACHE_SIZE) : null;
+        return toNativeJavaMethod(scope, value, overloads);
+    }
+
     private FieldAndMethods initFieldAndMethods(Scriptable scope, Field field, String name, boolean isStatic,
             Object member) {
         NativeJavaMethod method = (NativeJavaMethod) member;
         FieldAndMethods fam
             = new FieldAndMethods(scope, method.methods, field);
-        Map<String,FieldAndMethods> fmht = isStatic ? staticFieldAndMethods
-                                  : fieldAndMethods;
-        if (fmht == null) {
-            fmht = new HashMap<String,FieldAndMethods>();
-            if (isStatic) {
-                staticFieldAndMethods = fmht;
-            } else {
-                fieldAndMethods = fmht;
+        if (method instanceof CachingNativeJavaMethod) {
+            fam.overloads = ((CachingNativeJavaMethod) method).overloads;
+        }
+        Map<String,FieldAndMethods> fmht;
+        synchronized (this) {
+            fmht = isStatic ? staticFieldAndMethods : fieldAndMethods;
+            if (fmht == null) {
+                fmht = new ConcurrentHashMap<String,FieldAndMethods>();
+                if (isStatic) {
+                    staticFieldAndMethods = fmht;
+                } else {
+                    fieldAndMethods = fmht;
+                }
             }
         }
         fmht.put(name, fam);
@@ -1108,7 +3344,12 @@ class JavaMembersNew extends JavaMembers
 // gets in the way.
 final ClassReflectBean cfCache = createClassReflectBean(cl, includeProtected,
     includePrivate);
-if(!lazyInit) {
+if (SHARED_MEMBERS_ON) {
+    // the members of this scope are bound on first access
+    if (!lazyInit) {
+        resolveSharedMembers(cfCache, includePrivate);
+    }
+} else if(!lazyInit) {
 // replace Method instances by wrapped NativeJavaMethod objects
 // first in staticMembers and then in members
 for (int tableCursor = 0; tableCursor != 2; ++tableCursor) {
@@ -1117,7 +3358,7 @@ Map<String,Object> ht = isStatic ? staticMembers : members;
 final Map<String, Object> mbers = cfCache.getMembers(isStatic);
 for (Map.Entry<String, Object> entry: mbers.entrySet()) {
     Object value = entry.getValue();
-    NativeJavaMethod fun = toNativeJavaMethod(scope, value);
+    NativeJavaMethod fun = toNativeJavaMethod(scope, cfCache, entry.getKey(), value, isStatic);
     ht.put(entry.getKey(), fun);
 }
 }
@@ -1132,7 +3373,7 @@ for (int tableCursor = 0; tableCursor != 2; ++tableCursor) {
 boolean isStatic = (tableCursor == 0);
 Map<String,Object> ht = isStatic ? staticMembers : members;
 Map<String,BeanProperty> toAdd = new HashMap<String,BeanProperty>();
-for(Map.Entry<String, String> entry : (isStatic ? cfCache.staticBeanProperties : cfCache.instBeanProperties ).entrySet()) {
+for(Map.Entry<String, String> entry : cfCache.getBeanProperties(isStatic).entrySet()) {
         final String beanPropertyName = entry.getKey();
         final String nameComponent = entry.getValue();
         // If we already have a member by this name, don't do this
@@ -1206,6 +3447,10 @@ return cfCache;
                 }
             // Make the property.
             BeanProperty bp = new BeanProperty(getter, setter, setters);
+            bp.getterHandle = createGetterHandle(getter);
+            bp.getterKind = BeanProperty.kindOf(bp.getterHandle);
+            bp.setterHandle = createSetterHandle(setter);
+            bp.setterKind = BeanProperty.setterKindOf(bp.setterHandle, setter == null ? null : setter.argTypes[0]);
             return bp;
         }
 
@@ -0,0 +1,212 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package org.mozilla.javascript;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Builds the JavaMembers of classes before scripts touch them, e.g. at the
+ * start of a service: the reflection results go to the
+ * {@link ClassReflectCache} and the members to the {@link ClassCache} of
+ * the scope, so the first script that uses a class does not pay for it.
+ * <p>
+ * The classes are warmed in parallel on a {@link ForkJoinPool}. Warming is
+ * best effort, classes that cannot be reflected are skipped and left to the
+ * first access.
+ * <p>
+ * The pool threads have no Context of their own, so the {@link ClassShutter}
+ * of the calling thread's current Context is applied before the classes are
+ * handed to the pool: classes it does not make visible to scripts are not
+ * warmed. A member found in the ClassCache is not checked again, so warm
+ * with the Context (or at least the ClassShutter) the scripts use.
+ */
+public final class JavaMembersWarmer
+{
+    private static final String CLASS_SUFFIX = ".class";
+
+    private JavaMembersWarmer()
+    {
+    }
+
+    /**
+     * @param scope scope whose ClassCache gets the members, usually the
+     *        shared top level scope
+     * @return the number of warmed classes
+     */
+    public static int warm(Scriptable scope, Collection<Class<?>> classes)
+    {
+        return warm(scope, classes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param scope scope whose ClassCache gets the members, usually the
+     *        shared top level scope
+     * @param pool the pool to warm on, the call waits for the warming
+     * @return the number of warmed classes, without those hidden by the
+     *         ClassShutter of the current Context
+     */
+    public static int warm(final Scriptable scope, Collection<Class<?>> classes,
+                           ForkJoinPool pool)
+    {
+        // Rhino 1.7.7.2 creates the class table of a new ClassCache without
+        // synchronization, workers racing on it would drop classes
+        ClassCache.get(scope).getClassCacheMap();
+        Context cx = Context.getCurrentContext();
+        ClassShutter shutter = cx == null ? null : cx.getClassShutter();
+        List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>(classes.size());
+        for (final Class<?> cl : classes) {
+            if (shutter != null && !shutter.visibleToScripts(cl.getName())) {
+                continue;
+            }
+            tasks.add(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return Boolean.valueOf(warm(scope, cl));
+                }
+            });
+        }
+        int count = 0;
+        boolean interrupted = false;
+        for (Future<Boolean> future : pool.invokeAll(tasks)) {
+            for (;;) {
+                try {
+                    if (future.get().booleanValue()) {
+                        ++count;
+                    }
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    // an Error of the class, left to the first access
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return count;
+    }
+
+    /**
+     * Warms the classes of a package and its subpackages that the class
+     * loader finds in directories and jar files. Anonymous and synthetic
+     * classes are left out.
+     *
+     * @param packagePrefix package name, e.g. <code>com.example.beans</code>
+     * @return the number of warmed classes
+     * @throws IOException if the class path cannot be read
+     */
+    public static int warm(Scriptable scope, ClassLoader loader, String packagePrefix,
+                           ForkJoinPool pool)
+        throws IOException
+    {
+        return warm(scope, findClasses(loader, packagePrefix), pool);
+    }
+
+    private static boolean warm(Scriptable scope, Class<?> cl)
+    {
+        try {
+            JavaMembers members = JavaMembers.lookupClass(scope, cl, null, false);
+            members.resolveSharedMembers();
+            return members.cl == cl;
+        } catch (RuntimeException e) {
+            return false;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    static List<Class<?>> findClasses(ClassLoader loader, String packagePrefix)
+        throws IOException
+    {
+        String path = packagePrefix.replace('.', '/');
+        // a package may be split over several class path entries
+        Set<String> names = new LinkedHashSet<String>();
+        Enumeration<URL> urls = loader.getResources(path);
+        while (urls.hasMoreElements()) {
+            URL url = urls.nextElement();
+            if ("file".equals(url.getProtocol())) {
+                addClassNames(new File(URLDecoder.decode(url.getPath(), "UTF-8")),
+                              packagePrefix, names);
+            } else {
+                URLConnection connection = url.openConnection();
+                if (connection instanceof JarURLConnection) {
+                    addClassNames(((JarURLConnection) connection).getJarFile(),
+                                  path + '/', names);
+                }
+            }
+        }
+        List<Class<?>> classes = new ArrayList<Class<?>>(names.size());
+        for (String name : names) {
+            try {
+                Class<?> cl = Class.forName(name, false, loader);
+                if (!cl.isAnonymousClass() && !cl.isSynthetic()) {
+                    classes.add(cl);
+                }
+            } catch (ClassNotFoundException e) {
+                // listed but not loadable, e.g. shadowed by another jar
+            } catch (LinkageError e) {
+                // missing dependency, left to the first access
+            }
+        }
+        return classes;
+    }
+
+    private static void addClassNames(File dir, String packageName, Set<String> names)
+    {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String fileName = file.getName();
+            if (file.isDirectory()) {
+                addClassNames(file, packageName + '.' + fileName, names);
+            } else if (isClassFile(fileName)) {
+                names.add(packageName + '.'
+                          + fileName.substring(0, fileName.length() - CLASS_SUFFIX.length()));
+            }
+        }
+    }
+
+    private static void addClassNames(JarFile jar, String pathPrefix, Set<String> names)
+    {
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            String entryName = entries.nextElement().getName();
+            if (entryName.startsWith(pathPrefix) && isClassFile(entryName)) {
+                names.add(entryName.substring(0, entryName.length() - CLASS_SUFFIX.length())
+                          .replace('/', '.'));
+            }
+        }
+    }
+
+    private static boolean isClassFile(String fileName)
+    {
+        return fileName.endsWith(CLASS_SUFFIX)
+            && !fileName.endsWith("package-info.class")
+            && !fileName.endsWith("module-info.class");
+    }
+}
@@ -0,0 +1,162 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package org.mozilla.javascript;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mozilla.classfile.ByteCode;
+import org.mozilla.classfile.ClassFileWriter;
+
+/**
+ * Maps the member names of one Java class to slot indexes.
+ * <p>
+ * Subclasses are generated at runtime by {@link #create(String[])}. The
+ * generated {@link #firstSlot(int)} is a <code>tableswitch</code> on the
+ * masked hash code of the name that returns the first slot of the bucket,
+ * the names of a bucket are kept in consecutive slots. So a lookup costs one
+ * switch plus (usually) one <code>equals</code>, independent of the number
+ * of members.
+ * This class is public only because the generated subclasses are defined
+ * in their own class loader; it is not meant to be used by scripts.
+ *
+ * @see JavaMembersNew
+ */
+public abstract class MemberDispatcher
+{
+    private static final String SUPER_CLASS = MemberDispatcher.class.getName();
+    // HotSpot does not compile methods larger than this (DontCompileHugeMethods)
+    private static final int HUGE_METHOD_LIMIT = 8000;
+    private static final AtomicInteger serial = new AtomicInteger();
+
+    private String[] names;
+    private int[] hashes;
+    private int mask;
+
+    protected MemberDispatcher()
+    {
+    }
+
+    /**
+     * @return the first slot for the bucket of the hash code, or -1 if the
+     *         bucket is empty
+     */
+    protected abstract int firstSlot(int hash);
+
+    /**
+     * @return the slot of the name, or -1 if the class has no such member
+     */
+    public final int indexOf(String name)
+    {
+        final int hash = name.hashCode();
+        int slot = firstSlot(hash);
+        if (slot < 0) {
+            return -1;
+        }
+        final int bucket = hash & mask;
+        do {
+            if (hashes[slot] == hash && names[slot].equals(name)) {
+                return slot;
+            }
+            ++slot;
+        } while (slot < names.length && (hashes[slot] & mask) == bucket);
+        return -1;
+    }
+
+    /**
+     * @return the member names, the slot of a name is its index
+     */
+    final String[] getNames()
+    {
+        return names;
+    }
+
+    /**
+     * Generates a dispatcher for the names. The slot order is decided by the
+     * dispatcher, use {@link #getNames()} to get it.
+     *
+     * @return the dispatcher, or null if the class has so many members that
+     *         the generated method would not be compiled by the JIT
+     */
+    static MemberDispatcher create(String[] names)
+    {
+        int size = 1;
+        while (size < names.length) {
+            size <<= 1;
+        }
+        final int mask = size - 1;
+        // switch table plus at most a push and return per name
+        if (24 + 4 * size + 4 * names.length > HUGE_METHOD_LIMIT) {
+            return null;
+        }
+        String[] slots = names.clone();
+        Arrays.sort(slots, new Comparator<String>() {
+            @Override
+            public int compare(String a, String b) {
+                int ba = a.hashCode() & mask;
+                int bb = b.hashCode() & mask;
+                return ba < bb ? -1 : (ba == bb ? 0 : 1);
+            }
+        });
+        int[] hashes = new int[slots.length];
+        for (int i = 0; i != slots.length; ++i) {
+            hashes[i] = slots[i].hashCode();
+        }
+
+        String className = "org.mozilla.javascript.gen.MemberDispatcher"
+            + serial.incrementAndGet();
+        ClassFileWriter cfw = new ClassFileWriter(className, SUPER_CLASS,
+                                                  "<dispatcher>");
+        cfw.startMethod("<init>", "()V", ClassFileWriter.ACC_PUBLIC);
+        cfw.addLoadThis();
+        cfw.addInvoke(ByteCode.INVOKESPECIAL, SUPER_CLASS, "<init>", "()V");
+        cfw.add(ByteCode.RETURN);
+        cfw.stopMethod((short) 1);
+
+        cfw.startMethod("firstSlot", "(I)I", ClassFileWriter.ACC_PROTECTED);
+        cfw.addILoad(1);
+        cfw.addPush(mask);
+        cfw.add(ByteCode.IAND);
+        int switchStart = cfw.addTableSwitch(0, mask);
+        boolean[] used = new boolean[size];
+        for (int i = 0; i != slots.length; ++i) {
+            int bucket = hashes[i] & mask;
+            if (!used[bucket]) {
+                used[bucket] = true;
+                cfw.markTableSwitchCase(switchStart, bucket);
+                cfw.addPush(i);
+                cfw.add(ByteCode.IRETURN);
+            }
+        }
+        cfw.markTableSwitchDefault(switchStart);
+        for (int bucket = 0; bucket != size; ++bucket) {
+            if (!used[bucket]) {
+                cfw.markTableSwitchCase(switchStart, bucket);
+            }
+        }
+        cfw.addPush(-1);
+        cfw.add(ByteCode.IRETURN);
+        cfw.stopMethod((short) 2);
+
+        // one loader per dispatcher, so it can be unloaded with its class
+        DefiningClassLoader loader = new DefiningClassLoader(
+            MemberDispatcher.class.getClassLoader());
+        MemberDispatcher dispatcher;
+        try {
+            Class<?> clazz = loader.defineClass(className, cfw.toByteArray());
+            loader.linkClass(clazz);
+            dispatcher = (MemberDispatcher) clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(className, e);
+        }
+        dispatcher.names = slots;
+        dispatcher.hashes = hashes;
+        dispatcher.mask = mask;
+        return dispatcher;
+    }
+}
@@ -0,0 +1,138 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package org.mozilla.javascript;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Overload resolution results of one method group, keyed by the classes of
+ * the (unwrapped) arguments like {@link NativeJavaMethod}'s own cache, but
+ * shared by all NativeJavaMethod objects of the group, so the results
+ * survive new scopes.
+ * <p>
+ * The table has a fixed size and is probed without locking or allocation;
+ * when the probed slots are taken, the home slot is overwritten. Racing
+ * updates only lose entries, the caller then resolves again.
+ * <p>
+ * The cache lives as long as the class of the method group, so the argument
+ * types are held weakly: the classes of a plugin passed to a shared class
+ * do not keep the class loader of the plugin alive. An entry with a
+ * collected type is a miss and its slot is free for the next entry.
+ */
+final class OverloadCache
+{
+    private static final int PROBES = 4;
+
+    private static final class Entry
+    {
+        final int hash;
+        // null for null arguments
+        final WeakReference<Class<?>>[] types;
+        final int index;
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Entry(int hash, Object[] args, int index)
+        {
+            this.hash = hash;
+            this.index = index;
+            types = new WeakReference[args.length];
+            for (int i = 0; i != args.length; ++i) {
+                Class<?> type = typeOf(args[i]);
+                if (type != null) {
+                    types[i] = new WeakReference<Class<?>>(type);
+                }
+            }
+        }
+
+        boolean matches(Object[] args)
+        {
+            if (args.length != types.length) {
+                return false;
+            }
+            for (int i = 0; i != args.length; ++i) {
+                Class<?> type = typeOf(args[i]);
+                WeakReference<Class<?>> ref = types[i];
+                if (ref == null ? type != null : type == null || ref.get() != type) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isCleared()
+        {
+            for (WeakReference<Class<?>> ref : types) {
+                if (ref != null && ref.get() == null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final Entry[] table;
+
+    /**
+     * @param size the number of entries, rounded up to a power of two
+     */
+    OverloadCache(int size)
+    {
+        int capacity = Integer.highestOneBit(Math.max(size, PROBES) - 1) << 1;
+        table = new Entry[capacity];
+    }
+
+    /**
+     * @return the index of the method to call for the arguments, -1 if none
+     *         matches
+     * @see NativeJavaMethod#findFunction
+     */
+    int find(Context cx, MemberBox[] methods, Object[] args)
+    {
+        final Entry[] table = this.table;
+        final int mask = table.length - 1;
+        final int hash = hash(args);
+        for (int i = 0; i != PROBES; ++i) {
+            Entry e = table[(hash + i) & mask];
+            if (e == null) {
+                break;
+            }
+            if (e.hash == hash && e.matches(args)) {
+                return e.index;
+            }
+        }
+        int index = NativeJavaMethod.findFunction(cx, methods, args);
+        Entry entry = new Entry(hash, args, index);
+        int slot = hash & mask;
+        for (int i = 0; i != PROBES; ++i) {
+            Entry e = table[(hash + i) & mask];
+            if (e == null || e.isCleared()) {
+                slot = (hash + i) & mask;
+                break;
+            }
+        }
+        table[slot] = entry;
+        return index;
+    }
+
+    private static Class<?> typeOf(Object arg)
+    {
+        if (arg instanceof Wrapper) {
+            arg = ((Wrapper) arg).unwrap();
+        }
+        return arg == null ? null : arg.getClass();
+    }
+
+    private static int hash(Object[] args)
+    {
+        int h = args.length;
+        for (Object arg : args) {
+            Class<?> type = typeOf(arg);
+            h = 31 * h + (type == null ? 0 : type.hashCode());
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,421 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package org.mozilla.javascript;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.mozilla.javascript.index.MemberIndex;
+
+/**
+ * On-disk copy of the reflection results of {@link JavaMembers#createClassReflectBean},
+ * so a fresh JVM only has to resolve the methods and fields by name instead
+ * of discovering them.
+ * <p>
+ * Entries are keyed by class name and a hash of the class bytes of the class
+ * and its supertypes; classes of the bootstrap loader are covered by the
+ * java.version stored in the header. The file is read once when opened and
+ * written by a shutdown hook if new classes were reflected.
+ */
+final class ReflectCacheFile
+{
+    private static final int MAGIC = 0x52434631; // RCF1
+    private static final int VERSION = 1;
+
+    private static final Map<String,Class<?>> PRIMITIVES = new HashMap<String,Class<?>>();
+    static {
+        for (Class<?> c : new Class<?>[] { Boolean.TYPE, Byte.TYPE, Character.TYPE,
+                Short.TYPE, Integer.TYPE, Long.TYPE, Float.TYPE, Double.TYPE, Void.TYPE }) {
+            PRIMITIVES.put(c.getName(), c);
+        }
+    }
+
+    static final class Entry
+    {
+        final long hash;
+        // {declaring class, name, parameter types...}
+        final String[][] methods;
+        // {declaring class, name}
+        final String[][] fields;
+        final Map<String,String> staticBeanProperties;
+        final Map<String,String> instBeanProperties;
+
+        Entry(long hash, String[][] methods, String[][] fields,
+              Map<String,String> staticBeanProperties,
+              Map<String,String> instBeanProperties)
+        {
+            this.hash = hash;
+            this.methods = methods;
+            this.fields = fields;
+            this.staticBeanProperties = staticBeanProperties;
+            this.instBeanProperties = instBeanProperties;
+        }
+    }
+
+    private final File file;
+    private final Map<String,Entry> entries = new ConcurrentHashMap<String,Entry>();
+    private volatile boolean dirty;
+
+    private ReflectCacheFile(File file)
+    {
+        this.file = file;
+    }
+
+    /**
+     * Loads the file if it exists and registers the shutdown hook that
+     * writes it back.
+     */
+    static ReflectCacheFile open(String path)
+    {
+        final ReflectCacheFile cacheFile = new ReflectCacheFile(new File(path));
+        if (cacheFile.file.isFile()) {
+            try {
+                cacheFile.load();
+            } catch (IOException e) {
+                // stale or broken file, it is rewritten on exit
+                cacheFile.entries.clear();
+                cacheFile.dirty = true;
+            }
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread("ReflectCacheFile") {
+            @Override
+            public void run() {
+                try {
+                    cacheFile.save();
+                } catch (IOException e) {
+                    // no Context on this thread for Context.reportWarning
+                    System.err.println("ReflectCacheFile: could not write "
+                                       + cacheFile.file + ": " + e);
+                }
+            }
+        });
+        return cacheFile;
+    }
+
+    /**
+     * @return the entry of the class, or null if there is none or the class
+     *         has changed since it was written
+     */
+    Entry get(Class<?> clazz, int mode)
+    {
+        Entry entry = entries.get(key(clazz, mode));
+        if (entry == null || entry.hash != hashOf(clazz)) {
+            return null;
+        }
+        return entry;
+    }
+
+    void put(Class<?> clazz, int mode, Collection<Method> methods,
+             Field[] fields, Map<String,String> staticBeanProperties,
+             Map<String,String> instBeanProperties)
+    {
+        long hash = hashOf(clazz);
+        if (hash == -1L) {
+            // no class bytes, e.g. a generated class
+            return;
+        }
+        String[][] methodNames = new String[methods.size()][];
+        int i = 0;
+        for (Method m : methods) {
+            Class<?>[] params = m.getParameterTypes();
+            String[] names = new String[2 + params.length];
+            names[0] = m.getDeclaringClass().getName();
+            names[1] = m.getName();
+            for (int p = 0; p != params.length; ++p) {
+                names[2 + p] = params[p].getName();
+            }
+            methodNames[i++] = names;
+        }
+        String[][] fieldNames = new String[fields.length][];
+        for (int f = 0; f != fields.length; ++f) {
+            fieldNames[f] = new String[] {
+                fields[f].getDeclaringClass().getName(), fields[f].getName() };
+        }
+        entries.put(key(clazz, mode), new Entry(hash, methodNames, fieldNames,
+            staticBeanProperties, instBeanProperties));
+        dirty = true;
+    }
+
+    /**
+     * @return the methods of the entry, or null if one of them does not
+     *         exist any more
+     */
+    static Method[] resolveMethods(Class<?> clazz, Entry entry)
+    {
+        final ClassLoader loader = clazz.getClassLoader();
+        Method[] methods = new Method[entry.methods.length];
+        try {
+            for (int i = 0; i != methods.length; ++i) {
+                String[] names = entry.methods[i];
+                Class<?>[] params = new Class<?>[names.length - 2];
+                for (int p = 0; p != params.length; ++p) {
+                    params[p] = classForName(names[2 + p], clazz, loader);
+                }
+                methods[i] = classForName(names[0], clazz, loader)
+                    .getDeclaredMethod(names[1], params);
+            }
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+        return methods;
+    }
+
+    /**
+     * @return the fields of the entry, or null if one of them does not
+     *         exist any more
+     */
+    static Field[] resolveFields(Class<?> clazz, Entry entry)
+    {
+        final ClassLoader loader = clazz.getClassLoader();
+        Field[] fields = new Field[entry.fields.length];
+        try {
+            for (int i = 0; i != fields.length; ++i) {
+                String[] names = entry.fields[i];
+                fields[i] = classForName(names[0], clazz, loader)
+                    .getDeclaredField(names[1]);
+            }
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (NoSuchFieldException e) {
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+        return fields;
+    }
+
+    /**
+     * @return the entry for the member index generated at build time, its
+     *         hash is not checked
+     */
+    static Entry fromIndex(MemberIndex index)
+    {
+        return new Entry(0L, split(index.methods()), split(index.fields()),
+            toMap(split(index.staticBeanProperties())),
+            toMap(split(index.instBeanProperties())));
+    }
+
+    private static String[][] split(String[] lines)
+    {
+        String[][] names = new String[lines.length][];
+        for (int i = 0; i != lines.length; ++i) {
+            names[i] = lines[i].split(" ");
+        }
+        return names;
+    }
+
+    private static Map<String,String> toMap(String[][] pairs)
+    {
+        Map<String,String> map = new HashMap<String,String>();
+        for (String[] pair : pairs) {
+            map.put(pair[0], pair[1]);
+        }
+        return map;
+    }
+
+    private static Class<?> classForName(String name, Class<?> clazz,
+                                         ClassLoader loader)
+        throws ClassNotFoundException
+    {
+        if (name.equals(clazz.getName())) {
+            return clazz;
+        }
+        Class<?> c = PRIMITIVES.get(name);
+        return c != null ? c : Class.forName(name, false, loader);
+    }
+
+    private static String key(Class<?> clazz, int mode)
+    {
+        return mode + ":" + clazz.getName();
+    }
+
+    // read the class bytes once per class, not on every lookup
+    private static final ClassValue<Long> HASHES = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            return Long.valueOf(computeHash(type));
+        }
+    };
+
+    /**
+     * @return CRC32 over the class bytes of the class and its supertypes
+     *         outside the bootstrap loader, or -1 if some are not available
+     */
+    static long hashOf(Class<?> clazz)
+    {
+        return HASHES.get(clazz).longValue();
+    }
+
+    private static long computeHash(Class<?> clazz)
+    {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        try {
+            if (!update(crc, clazz, buffer)) {
+                return -1L;
+            }
+        } catch (IOException e) {
+            return -1L;
+        }
+        return crc.getValue();
+    }
+
+    private static boolean update(CRC32 crc, Class<?> clazz, byte[] buffer)
+        throws IOException
+    {
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            ClassLoader loader = c.getClassLoader();
+            if (loader == null) {
+                // java.version in the header
+                break;
+            }
+            InputStream in = loader.getResourceAsStream(
+                c.getName().replace('.', '/') + ".class");
+            if (in == null) {
+                return false;
+            }
+            try {
+                for (int n; (n = in.read(buffer)) > 0; ) {
+                    crc.update(buffer, 0, n);
+                }
+            } finally {
+                in.close();
+            }
+            for (Class<?> intf : c.getInterfaces()) {
+                if (!update(crc, intf, buffer)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void load() throws IOException
+    {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+            new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION
+                || !in.readUTF().equals(System.getProperty("java.version"))) {
+                dirty = true;
+                return;
+            }
+            for (int count = in.readInt(); count > 0; --count) {
+                String key = in.readUTF();
+                long hash = in.readLong();
+                String[][] methods = new String[in.readInt()][];
+                for (int i = 0; i != methods.length; ++i) {
+                    methods[i] = readStrings(in);
+                }
+                String[][] fields = new String[in.readInt()][];
+                for (int i = 0; i != fields.length; ++i) {
+                    fields[i] = readStrings(in);
+                }
+                Map<String,String> staticBeanProperties = readMap(in);
+                Map<String,String> instBeanProperties = readMap(in);
+                entries.put(key, new Entry(hash, methods, fields,
+                    staticBeanProperties, instBeanProperties));
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private synchronized void save() throws IOException
+    {
+        if (!dirty) {
+            return;
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+            new FileOutputStream(tmp)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(System.getProperty("java.version"));
+            Map<String,Entry> snapshot = new HashMap<String,Entry>(entries);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String,Entry> e : snapshot.entrySet()) {
+                Entry entry = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(entry.hash);
+                out.writeInt(entry.methods.length);
+                for (String[] names : entry.methods) {
+                    writeStrings(out, names);
+                }
+                out.writeInt(entry.fields.length);
+                for (String[] names : entry.fields) {
+                    writeStrings(out, names);
+                }
+                writeMap(out, entry.staticBeanProperties);
+                writeMap(out, entry.instBeanProperties);
+            }
+        } finally {
+            out.close();
+        }
+        if (!(file.delete() || !file.exists()) || !tmp.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+        dirty = false;
+    }
+
+    private static String[] readStrings(DataInputStream in) throws IOException
+    {
+        String[] strings = new String[in.readUnsignedShort()];
+        for (int i = 0; i != strings.length; ++i) {
+            strings[i] = in.readUTF();
+        }
+        return strings;
+    }
+
+    private static void writeStrings(DataOutputStream out, String[] strings)
+        throws IOException
+    {
+        out.writeShort(strings.length);
+        for (String s : strings) {
+            out.writeUTF(s);
+        }
+    }
+
+    private static Map<String,String> readMap(DataInputStream in) throws IOException
+    {
+        int size = in.readInt();
+        Map<String,String> map = new HashMap<String,String>();
+        for (int i = 0; i != size; ++i) {
+            map.put(in.readUTF(), in.readUTF());
+        }
+        return map;
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String,String> map)
+        throws IOException
+    {
+        out.writeInt(map.size());
+        for (Map.Entry<String,String> e : map.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeUTF(e.getValue());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package org.mozilla.javascript.index;
+
+/**
+ * Public members of a class annotated with {@link IndexedMembers}, generated
+ * by {@link MemberIndexProcessor} as <code>&lt;class name&gt;_MemberIndex</code>.
+ * <p>
+ * Every entry is one line of space separated names, types are written as
+ * returned by {@link Class#getName()}. Methods with the same name form an
+ * overload group.
+ */
+public interface MemberIndex
+{
+    String CLASS_SUFFIX = "_MemberIndex";
+
+    /**
+     * @return "declaring-class name parameter-type..." per public method
+     */
+    String[] methods();
+
+    /**
+     * @return "declaring-class name" per public field
+     */
+    String[] fields();
+
+    /**
+     * @return "property name-component" per static bean property, the
+     *         getter/setter pair is "get"/"is"/"set" + name-component
+     */
+    String[] staticBeanProperties();
+
+    /**
+     * @return "property name-component" per instance bean property
+     */
+    String[] instBeanProperties();
+}
@@ -0,0 +1,213 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/. */
+
+package org.mozilla.javascript.index;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates the {@link MemberIndex} of every class annotated with
+ * {@link IndexedMembers}. The index lists the same members as
+ * <code>Class.getMethods()</code>/<code>Class.getFields()</code> (without
+ * compiler generated bridge methods) and the bean properties derived from
+ * them the way JavaMembers does.
+ */
+@SupportedAnnotationTypes("org.mozilla.javascript.index.IndexedMembers")
+public class MemberIndexProcessor extends AbstractProcessor
+{
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations,
+                           RoundEnvironment roundEnv)
+    {
+        for (Element element : roundEnv.getElementsAnnotatedWith(IndexedMembers.class)) {
+            if (!element.getKind().isClass()
+                || !element.getModifiers().contains(Modifier.PUBLIC)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "@IndexedMembers needs a public class", element);
+                continue;
+            }
+            try {
+                writeIndex((TypeElement) element);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write member index: " + e, element);
+            }
+        }
+        return true;
+    }
+
+    private void writeIndex(TypeElement type) throws IOException
+    {
+        List<String> methods = new ArrayList<String>();
+        List<String> fields = new ArrayList<String>();
+        Map<String,String> staticBeanProperties = new LinkedHashMap<String,String>();
+        Map<String,String> instBeanProperties = new LinkedHashMap<String,String>();
+        for (Element member : processingEnv.getElementUtils().getAllMembers(type)) {
+            if (!member.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            boolean isStatic = member.getModifiers().contains(Modifier.STATIC);
+            String declaring = binaryName(member.getEnclosingElement());
+            String name = member.getSimpleName().toString();
+            if (member.getKind() == ElementKind.METHOD) {
+                StringBuilder sb = new StringBuilder(declaring).append(' ').append(name);
+                for (VariableElement param : ((ExecutableElement) member).getParameters()) {
+                    sb.append(' ').append(className(param.asType()));
+                }
+                methods.add(sb.toString());
+                addBeanProperty(name, isStatic ? staticBeanProperties : instBeanProperties);
+            } else if (member.getKind() == ElementKind.FIELD
+                       || member.getKind() == ElementKind.ENUM_CONSTANT) {
+                fields.add(declaring + ' ' + name);
+            }
+        }
+
+        String className = binaryName(type) + MemberIndex.CLASS_SUFFIX;
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String simpleName = pkg.isUnnamed() ? className
+            : className.substring(pkg.getQualifiedName().length() + 1);
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(className, type);
+        PrintWriter out = new PrintWriter(file.openWriter());
+        try {
+            if (!pkg.isUnnamed()) {
+                out.println("package " + pkg.getQualifiedName() + ";");
+                out.println();
+            }
+            out.println("/** Generated by " + getClass().getName() + " for "
+                        + type.getQualifiedName() + ", do not edit. */");
+            out.println("public final class " + simpleName
+                        + " implements " + MemberIndex.class.getName() + " {");
+            writeArray(out, "METHODS", methods);
+            writeArray(out, "FIELDS", fields);
+            writeArray(out, "STATIC_BEAN_PROPERTIES", toLines(staticBeanProperties));
+            writeArray(out, "INST_BEAN_PROPERTIES", toLines(instBeanProperties));
+            out.println("    public String[] methods() { return METHODS; }");
+            out.println("    public String[] fields() { return FIELDS; }");
+            out.println("    public String[] staticBeanProperties() { return STATIC_BEAN_PROPERTIES; }");
+            out.println("    public String[] instBeanProperties() { return INST_BEAN_PROPERTIES; }");
+            out.println("}");
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Same naming rules as JavaMembers.createBeanProperties.
+     */
+    private static void addBeanProperty(String name, Map<String,String> properties)
+    {
+        boolean memberIsIsMethod = name.startsWith("is");
+        if (!memberIsIsMethod && !name.startsWith("get") && !name.startsWith("set")) {
+            return;
+        }
+        String nameComponent = name.substring(memberIsIsMethod ? 2 : 3);
+        if (nameComponent.length() == 0) {
+            return;
+        }
+        String beanPropertyName = nameComponent;
+        char ch0 = nameComponent.charAt(0);
+        if (Character.isUpperCase(ch0)) {
+            if (nameComponent.length() == 1) {
+                beanPropertyName = nameComponent.toLowerCase();
+            } else {
+                char ch1 = nameComponent.charAt(1);
+                if (!Character.isUpperCase(ch1)) {
+                    beanPropertyName = Character.toLowerCase(ch0)
+                                       + nameComponent.substring(1);
+                }
+            }
+        }
+        properties.put(beanPropertyName, nameComponent);
+    }
+
+    private static List<String> toLines(Map<String,String> properties)
+    {
+        List<String> lines = new ArrayList<String>(properties.size());
+        for (Map.Entry<String,String> e : properties.entrySet()) {
+            lines.add(e.getKey() + ' ' + e.getValue());
+        }
+        return lines;
+    }
+
+    private static void writeArray(PrintWriter out, String name, List<String> lines)
+    {
+        out.println("    private static final String[] " + name + " = {");
+        for (String line : lines) {
+            out.println("        \"" + line + "\",");
+        }
+        out.println("    };");
+    }
+
+    private String binaryName(Element type)
+    {
+        return processingEnv.getElementUtils().getBinaryName((TypeElement) type).toString();
+    }
+
+    /**
+     * @return the erased type as returned by Class.getName()
+     */
+    private String className(TypeMirror type)
+    {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        switch (erased.getKind()) {
+          case ARRAY:
+            return descriptor(erased).replace('/', '.');
+          case DECLARED:
+            return binaryName(((DeclaredType) erased).asElement());
+          default:
+            return erased.toString();
+        }
+    }
+
+    private String descriptor(TypeMirror type)
+    {
+        switch (type.getKind()) {
+          case ARRAY:
+            return "[" + descriptor(((ArrayType) type).getComponentType());
+          case DECLARED:
+            return "L" + binaryName(((DeclaredType) type).asElement()) + ";";
+          case BOOLEAN: return "Z";
+          case BYTE: return "B";
+          case CHAR: return "C";
+          case SHORT: return "S";
+          case INT: return "I";
+          case LONG: return "J";
+          case FLOAT: return "F";
+          case DOUBLE: return "D";
+          default:
+            return descriptor(processingEnv.getTypeUtils().erasure(type));
+        }
+    }
+}
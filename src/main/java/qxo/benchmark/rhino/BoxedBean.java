@@ -0,0 +1,50 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.index.IndexedMembers;
+
+/**
+ * the properties of {@link PrimitiveBean} next to boxed and enum typed ones.
+ */
+@IndexedMembers
+public class BoxedBean extends PrimitiveBean  {
+	
+	private Integer boxedCount;
+	private Long boxedTotal;
+	private Double boxedPrice;
+	private Boolean boxedActive;
+	private TimeUnit unit;
+	public Integer getBoxedCount() {
+		return boxedCount;
+	}
+	public void setBoxedCount(Integer boxedCount) {
+		this.boxedCount = boxedCount;
+	}
+	public Long getBoxedTotal() {
+		return boxedTotal;
+	}
+	public void setBoxedTotal(Long boxedTotal) {
+		this.boxedTotal = boxedTotal;
+	}
+	public Double getBoxedPrice() {
+		return boxedPrice;
+	}
+	public void setBoxedPrice(Double boxedPrice) {
+		this.boxedPrice = boxedPrice;
+	}
+	public Boolean getBoxedActive() {
+		return boxedActive;
+	}
+	public void setBoxedActive(Boolean boxedActive) {
+		this.boxedActive = boxedActive;
+	}
+	public TimeUnit getUnit() {
+		return unit;
+	}
+	public void setUnit(TimeUnit unit) {
+		this.unit = unit;
+	}
+	public BoxedBean() {
+	}
+}
@@ -0,0 +1,101 @@
+package qxo.benchmark.rhino;
+
+import org.mozilla.javascript.index.IndexedMembers;
+
+/**
+ * public fields that have methods of the same name, JavaMembers exposes them as FieldAndMethods.
+ */
+@IndexedMembers
+public class CollisionBean extends AbstractBean  {
+	
+	private String name1;
+	public String c1,c2,c3,c4,c5,c6,c7,c8,c9,c10,c11,c12,c13,c14,c15,c16,c17,c18,c19,c20;
+	public String getName1() {
+		return name1;
+	}
+	public void setName1(String name1) {
+		this.name1 = name1;
+	}
+	public String c1() {
+		return c1;
+	}
+	public String c2() {
+		return c2;
+	}
+	public String c3() {
+		return c3;
+	}
+	public String c4() {
+		return c4;
+	}
+	public String c5() {
+		return c5;
+	}
+	public String c6() {
+		return c6;
+	}
+	public String c7() {
+		return c7;
+	}
+	public String c8() {
+		return c8;
+	}
+	public String c9() {
+		return c9;
+	}
+	public String c10() {
+		return c10;
+	}
+	public String c11() {
+		return c11;
+	}
+	public String c12() {
+		return c12;
+	}
+	public String c13() {
+		return c13;
+	}
+	public String c14() {
+		return c14;
+	}
+	public String c15() {
+		return c15;
+	}
+	public String c16() {
+		return c16;
+	}
+	public String c17() {
+		return c17;
+	}
+	public String c18() {
+		return c18;
+	}
+	public String c19() {
+		return c19;
+	}
+	public String c20() {
+		return c20;
+	}
+	public CollisionBean() {
+		c1 = "c1";
+		c2 = "c2";
+		c3 = "c3";
+		c4 = "c4";
+		c5 = "c5";
+		c6 = "c6";
+		c7 = "c7";
+		c8 = "c8";
+		c9 = "c9";
+		c10 = "c10";
+		c11 = "c11";
+		c12 = "c12";
+		c13 = "c13";
+		c14 = "c14";
+		c15 = "c15";
+		c16 = "c16";
+		c17 = "c17";
+		c18 = "c18";
+		c19 = "c19";
+		c20 = "c20";
+	}
+}
@@ -0,0 +1,18 @@
+package qxo.benchmark.rhino;
+
+import org.mozilla.javascript.index.IndexedMembers;
+
+/**
+ * values outside of the Integer/Long caches, so every boxed read allocates.
+ */
+@IndexedMembers
+public class LargeCountPrimitiveBean extends PrimitiveBean  {
+	
+	public LargeCountPrimitiveBean() {
+		setCount(1000000);
+		setTotal(10000000000L);
+		setPrice(12.5);
+		setRatio(0.25);
+		setActive(true);
+	}
+}
@@ -0,0 +1,15 @@
+package qxo.benchmark.rhino;
+
+/**
+ * values outside of the Integer/Long caches, so every boxed read allocates.
+ */
+public class LargeCountPublicFieldBean extends PublicFieldBean {
+
+	public LargeCountPublicFieldBean() {
+		count = 1000000;
+		total = 10000000000L;
+		price = 12.5;
+		ratio = 0.25;
+		active = true;
+	}
+}
@@ -1,5 +1,8 @@
 package qxo.benchmark.rhino;
 
+import org.mozilla.javascript.index.IndexedMembers;
+
+@IndexedMembers
 public class Member100pBean  extends AbstractBean {
 	
 	public String getName1() {
@@ -1,5 +1,8 @@
 package qxo.benchmark.rhino;
 
+import org.mozilla.javascript.index.IndexedMembers;
+
+@IndexedMembers
 public class Member10pBean extends AbstractBean  {
 	
 	private String name1,name2,name3,name4,name5,name6,name7,name8,name9,name10;
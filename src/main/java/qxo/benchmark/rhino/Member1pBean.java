@@ -1,5 +1,8 @@
 package qxo.benchmark.rhino;
 
+import org.mozilla.javascript.index.IndexedMembers;
+
+@IndexedMembers
 public class Member1pBean extends AbstractBean  {
 	
 	private String name1;
@@ -0,0 +1,56 @@
+package qxo.benchmark.rhino;
+
+import org.mozilla.javascript.index.IndexedMembers;
+
+/**
+ * node of a binary tree of beans.
+ */
+@IndexedMembers
+public class NestedBean extends AbstractBean  {
+	
+	private String name1;
+	private int value;
+	private NestedBean left;
+	private NestedBean right;
+	public String getName1() {
+		return name1;
+	}
+	public void setName1(String name1) {
+		this.name1 = name1;
+	}
+	public int getValue() {
+		return value;
+	}
+	public void setValue(int value) {
+		this.value = value;
+	}
+	public NestedBean getLeft() {
+		return left;
+	}
+	public void setLeft(NestedBean left) {
+		this.left = left;
+	}
+	public NestedBean getRight() {
+		return right;
+	}
+	public void setRight(NestedBean right) {
+		this.right = right;
+	}
+	public NestedBean() {
+	}
+
+	/**
+	 * @return a full tree with 2^depth - 1 nodes
+	 */
+	public static NestedBean tree(int depth) {
+		if (depth <= 0) {
+			return null;
+		}
+		NestedBean node = new NestedBean();
+		node.setName1("node" + depth);
+		node.setValue(depth);
+		node.setLeft(tree(depth - 1));
+		node.setRight(tree(depth - 1));
+		return node;
+	}
+}
@@ -0,0 +1,26 @@
+package qxo.benchmark.rhino;
+
+/**
+ * bean with a 2-way overloaded method put, for the overload resolution of method calls.
+ */
+public class Overload2Bean extends AbstractBean {
+
+	private String name1;
+	private Object value;
+
+	public String getName1() {
+		return name1;
+	}
+	public void setName1(String name1) {
+		this.name1 = name1;
+	}
+	public Object getValue() {
+		return value;
+	}
+	public void put(String v1) {
+		this.value = v1;
+	}
+	public void put(double v1) {
+		this.value = v1;
+	}
+}
@@ -0,0 +1,38 @@
+package qxo.benchmark.rhino;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * bean with a 5-way overloaded method put, for the overload resolution of method calls.
+ */
+public class Overload5Bean extends AbstractBean {
+
+	private String name1;
+	private Object value;
+
+	public String getName1() {
+		return name1;
+	}
+	public void setName1(String name1) {
+		this.name1 = name1;
+	}
+	public Object getValue() {
+		return value;
+	}
+	public void put(String v1) {
+		this.value = v1;
+	}
+	public void put(double v1) {
+		this.value = v1;
+	}
+	public void put(boolean v1) {
+		this.value = v1;
+	}
+	public void put(Map<?, ?> v1) {
+		this.value = v1;
+	}
+	public void put(List<?> v1) {
+		this.value = v1;
+	}
+}
@@ -0,0 +1,44 @@
+package qxo.benchmark.rhino;
+
+import org.mozilla.javascript.index.IndexedMembers;
+
+/**
+ * bean with an overloaded setter, for explicit overload selection like vo['setValue(int)'](1).
+ */
+@IndexedMembers
+public class OverloadBean extends AbstractBean {
+
+	private String name1;
+	private Object value;
+
+	public String getName1() {
+		return name1;
+	}
+	public void setName1(String name1) {
+		this.name1 = name1;
+	}
+	public Object getValue() {
+		return value;
+	}
+	public void setValue(String value) {
+		this.value = value;
+	}
+	public void setValue(int value) {
+		this.value = value;
+	}
+	public void setValue(long value) {
+		this.value = value;
+	}
+	public void setValue(double value) {
+		this.value = value;
+	}
+	public void setValue(boolean value) {
+		this.value = value;
+	}
+	public void setValue(Object value) {
+		this.value = value;
+	}
+	public void setValue(String value, int radix) {
+		this.value = Integer.valueOf(value, radix);
+	}
+}
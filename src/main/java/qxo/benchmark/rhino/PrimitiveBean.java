@@ -0,0 +1,52 @@
+package qxo.benchmark.rhino;
+
+import org.mozilla.javascript.index.IndexedMembers;
+
+@IndexedMembers
+public class PrimitiveBean extends AbstractBean  {
+	
+	private String name1;
+	private int count;
+	private long total;
+	private double price;
+	private double ratio;
+	private boolean active;
+	public String getName1() {
+		return name1;
+	}
+	public void setName1(String name1) {
+		this.name1 = name1;
+	}
+	public int getCount() {
+		return count;
+	}
+	public void setCount(int count) {
+		this.count = count;
+	}
+	public long getTotal() {
+		return total;
+	}
+	public void setTotal(long total) {
+		this.total = total;
+	}
+	public double getPrice() {
+		return price;
+	}
+	public void setPrice(double price) {
+		this.price = price;
+	}
+	public double getRatio() {
+		return ratio;
+	}
+	public void setRatio(double ratio) {
+		this.ratio = ratio;
+	}
+	public boolean isActive() {
+		return active;
+	}
+	public void setActive(boolean active) {
+		this.active = active;
+	}
+	public PrimitiveBean() {
+	}
+}
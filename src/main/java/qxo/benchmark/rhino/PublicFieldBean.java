@@ -0,0 +1,17 @@
+package qxo.benchmark.rhino;
+
+/**
+ * the properties of {@link PrimitiveBean} as public fields, without getters and setters.
+ */
+public class PublicFieldBean {
+
+	public String name1;
+	public int count;
+	public long total;
+	public double price;
+	public double ratio;
+	public boolean active;
+
+	public PublicFieldBean() {
+	}
+}
@@ -0,0 +1,123 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.JavaBeanJson;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JSON of a Member&lt;propertyCount&gt;pBean and of a {@link NestedBean} tree of TREE_DEPTH levels: copied property by
+ * property into a JS object that is passed to <code>JSON.stringify</code>, as scripts do it by hand, against
+ * <code>beanToJSON</code> of {@link JavaBeanJson}. The tree benchmarks do not depend on propertyCount.
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoBeanJsonBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final int TREE_DEPTH = 6;
+
+	private static final String TREE_COPY = "function copy(node) {\n"
+			+ "  if (node == null) return null;\n"
+			+ "  return { left: copy(node.left), name1: String(node.name1), right: copy(node.right), value: node.value };\n"
+			+ "}\n"
+			+ "JSON.stringify(copy(tree))";
+
+	@Param({ "10", "50", "200" })
+	public int propertyCount;
+
+	private ScriptableObject scope;
+
+	private Script manualCopy;
+
+	private Script beanToJson;
+
+	private Script treeManualCopy;
+
+	private Script treeBeanToJson;
+
+	@Setup
+	public void setup() {
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			JavaBeanJson.defineFunctions(scope);
+			scope.put("vo", scope, RhinoBulkReadBenchmark.newBean(propertyCount));
+			scope.put("tree", scope, NestedBean.tree(TREE_DEPTH));
+			StringBuilder copy = new StringBuilder("var o = {};\n");
+			for (int i = 1; i <= propertyCount; i++) {
+				String name = "name" + i;
+				cx.evaluateString(scope, "vo." + name + " = '" + name + "'", "fill", 1, null);
+				// a Java String is wrapped, so it has to be converted for JSON.stringify
+				copy.append("o.").append(name).append(" = String(vo.").append(name).append(");\n");
+			}
+			copy.append("JSON.stringify(o)");
+			manualCopy = cx.compileString(copy.toString(), "manualCopy", 1, null);
+			beanToJson = cx.compileString("beanToJSON(vo)", "beanToJson", 1, null);
+			treeManualCopy = cx.compileString(TREE_COPY, "treeManualCopy", 1, null);
+			treeBeanToJson = cx.compileString("beanToJSON(tree)", "treeBeanToJson", 1, null);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	public Object manualCopy() {
+		return run(manualCopy);
+	}
+
+	@Benchmark
+	public Object beanToJson() {
+		return run(beanToJson);
+	}
+
+	@Benchmark
+	public Object treeManualCopy() {
+		return run(treeManualCopy);
+	}
+
+	@Benchmark
+	public Object treeBeanToJson() {
+		return run(treeBeanToJson);
+	}
+
+	private Object run(Script script) {
+		Context cx = Context.enter();
+		try {
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoBeanJsonBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
@@ -0,0 +1,93 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * bean property access(<code>vo.name1</code>) instead of the method call used by {@link RhinoJavaMembersBenchmark}.
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoBeanPropertyBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final String[] TEST_SAMPLES = new String[]{
+			"vo.name1 = 'abc'; vo.name1"
+	};
+
+	private static final class Holder4MethodHandleOff {
+		public static final Holder4MethodHandleOff INST = new Holder4MethodHandleOff();
+		static {
+			System.setProperty("rhino_JavaMembers_methodHandle", "false");
+		}
+	}
+
+	@Benchmark
+	public Object base4Member001p(Blackhole bh) {
+		return runJsOnVo(bh, new Member1pBean(), null);
+	}
+
+	@Benchmark
+	public Object base4Member050p(Blackhole bh) {
+		return runJsOnVo(bh, new Member50pBean(), null);
+	}
+
+	@Benchmark
+	public Object base4Member200p(Blackhole bh) {
+		return runJsOnVo(bh, new Member200pBean(), null);
+	}
+
+	@Benchmark
+	public Object methodHandleOff4Member001p(Blackhole bh) {
+		return runJsOnVo(bh, new Member1pBean(), Holder4MethodHandleOff.INST);
+	}
+
+	@Benchmark
+	public Object methodHandleOff4Member050p(Blackhole bh) {
+		return runJsOnVo(bh, new Member50pBean(), Holder4MethodHandleOff.INST);
+	}
+
+	@Benchmark
+	public Object methodHandleOff4Member200p(Blackhole bh) {
+		return runJsOnVo(bh, new Member200pBean(), Holder4MethodHandleOff.INST);
+	}
+
+	protected static Object runJsOnVo(Blackhole bh, AbstractBean vo, Object initor) {
+		Object ret = null;
+		for (final String str : TEST_SAMPLES) {
+			ret = RhinoJavaMembersBenchmark.runJsScript(str, vo, true);
+			if (bh != null) {
+				bh.consume(ret);
+			}
+		}
+		return ret;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoBeanPropertyBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
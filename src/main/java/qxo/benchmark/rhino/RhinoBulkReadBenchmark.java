@@ -0,0 +1,134 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.JavaBeanReader;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * copies every bean property of a Member&lt;propertyCount&gt;pBean into a plain JS object or array, property by
+ * property (<code>o.name1 = vo.name1; ...</code>) and with one call of the bulk read functions of
+ * {@link JavaBeanReader}.
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoBulkReadBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	@Param({ "10", "20", "50", "100", "200" })
+	public int propertyCount;
+
+	private ScriptableObject scope;
+
+	private Script perPropertyObject;
+
+	private Script perPropertyArray;
+
+	private Script bulkObject;
+
+	private Script bulkArray;
+
+	static AbstractBean newBean(int propertyCount) {
+		switch (propertyCount) {
+		case 10:
+			return new Member10pBean();
+		case 20:
+			return new Member20pBean();
+		case 50:
+			return new Member50pBean();
+		case 100:
+			return new Member100pBean();
+		case 200:
+			return new Member200pBean();
+		default:
+			throw new IllegalArgumentException("no bean with " + propertyCount + " properties");
+		}
+	}
+
+	@Setup
+	public void setup() {
+		AbstractBean vo = newBean(propertyCount);
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			JavaBeanReader.defineFunctions(scope);
+			scope.put("vo", scope, vo);
+			StringBuilder object = new StringBuilder("var o = {};\n");
+			StringBuilder array = new StringBuilder("[");
+			for (int i = 1; i <= propertyCount; i++) {
+				String name = "name" + i;
+				cx.evaluateString(scope, "vo." + name + " = '" + name + "'", "fill", 1, null);
+				object.append("o.").append(name).append(" = vo.").append(name).append(";\n");
+				array.append(i == 1 ? "" : ", ").append("vo.").append(name);
+			}
+			object.append("o");
+			array.append("]");
+			perPropertyObject = cx.compileString(object.toString(), "perPropertyObject", 1, null);
+			perPropertyArray = cx.compileString(array.toString(), "perPropertyArray", 1, null);
+			bulkObject = cx.compileString("beanToObject(vo)", "bulkObject", 1, null);
+			bulkArray = cx.compileString("beanToArray(vo)", "bulkArray", 1, null);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	public Object perPropertyObject() {
+		return run(perPropertyObject);
+	}
+
+	@Benchmark
+	public Object perPropertyArray() {
+		return run(perPropertyArray);
+	}
+
+	@Benchmark
+	public Object bulkObject() {
+		return run(bulkObject);
+	}
+
+	@Benchmark
+	public Object bulkArray() {
+		return run(bulkArray);
+	}
+
+	private Object run(Script script) {
+		Context cx = Context.enter();
+		try {
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoBulkReadBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
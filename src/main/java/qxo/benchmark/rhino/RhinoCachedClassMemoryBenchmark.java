@@ -0,0 +1,143 @@
+package qxo.benchmark.rhino;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.ClassCache;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * heap of the process wide reflection cache per class: every invocation reads one property of a new generated
+ * bean class, the scope does not cache the JavaMembers, so only the cached reflection of the class is left
+ * (next to the class itself), with the compact tables (default) and without them. defineOnly is the baseline
+ * of the classes without reflection. The retained heap
+ * (after a full GC) and the number of classes are reported as secondary results, JMH sums them over the
+ * iterations, so retainedBytes / retainedClasses is the heap per class.
+ */
+@Fork(2)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoCachedClassMemoryBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final String SCRIPT = "vo.name1 = 'abc'; vo.name1";
+
+	private static final class Holder4CompactTablesOff {
+		public static final Holder4CompactTablesOff INST = new Holder4CompactTablesOff();
+		static {
+			System.setProperty("rhino_JavaMembers_compactTables", "false");
+		}
+	}
+
+	@Param({ "1", "10", "50", "100", "200" })
+	public int propertyCount;
+
+	private ScriptableObject scope;
+
+	private Script script;
+
+	private final List<Object> beans = new ArrayList<Object>();
+
+	private long heapBefore;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long retainedBytes;
+		public long retainedClasses;
+	}
+
+	@Setup(Level.Iteration)
+	public void setupIteration() {
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			ClassCache.get(scope).setCachingEnabled(false);
+			script = cx.compileString(SCRIPT, "memory", 1, null);
+		} finally {
+			Context.exit();
+		}
+		heapBefore = usedHeapAfterGc();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDownIteration(Counters counters) {
+		counters.retainedBytes = usedHeapAfterGc() - heapBefore;
+		counters.retainedClasses = beans.size();
+		beans.clear();
+		scope = null;
+	}
+
+	private static long usedHeapAfterGc() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	@Benchmark
+	public Object cachedClass() throws ReflectiveOperationException {
+		return run(null);
+	}
+
+	@Benchmark
+	public Object compactTablesOff4CachedClass() throws ReflectiveOperationException {
+		return run(Holder4CompactTablesOff.INST);
+	}
+
+	private Object run(Object initor) throws ReflectiveOperationException {
+		Object vo = RhinoClassChurnBenchmark.newBeanClass(propertyCount).getDeclaredConstructor().newInstance();
+		beans.add(vo);
+		Context cx = Context.enter();
+		try {
+			ScriptableObject.putProperty(scope, "vo", vo);
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	public Object defineOnly() throws ReflectiveOperationException {
+		Object vo = RhinoClassChurnBenchmark.newBeanClass(propertyCount).getDeclaredConstructor().newInstance();
+		beans.add(vo);
+		return vo;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoCachedClassMemoryBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
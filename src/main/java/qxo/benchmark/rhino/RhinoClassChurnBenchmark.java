@@ -0,0 +1,166 @@
+package qxo.benchmark.rhino;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mozilla.classfile.ByteCode;
+import org.mozilla.classfile.ClassFileWriter;
+import org.mozilla.javascript.ClassReflectCache;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.DefiningClassLoader;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * every invocation defines a new bean class in its own class loader (like reloaded plugin scripts)
+ * and reads one of its properties, so the static reflection cache sees thousands of classes, unbounded (churn)
+ * and limited to 1000 classes (boundedCache4Churn).
+ * The retained heap after a full GC and the cache counters at the end of the iterations are reported as
+ * secondary results, JMH sums them over the iterations.
+ */
+@Fork(2)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoClassChurnBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final int PROPERTY_COUNT = 20;
+
+	private static final AtomicInteger SERIAL = new AtomicInteger();
+
+	private static final String SCRIPT = "vo.name1 = 'abc'; vo.name1";
+
+	private static final class Holder4BoundedCache {
+		public static final Holder4BoundedCache INST = new Holder4BoundedCache();
+		static {
+			System.setProperty("rhino_JavaMembers_reflect_cache_size", "1000");
+		}
+	}
+
+	private ScriptableObject scope;
+
+	private Script script;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long retainedHeapKb;
+		public long cachedClasses;
+		public long cacheEvictions;
+	}
+
+	@Setup(Level.Iteration)
+	public void setupIteration() {
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			script = cx.compileString(SCRIPT, "churn", 1, null);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDownIteration(Counters counters) {
+		// the ClassCache of the scope holds the JavaMembers of all classes of the iteration
+		scope = null;
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		counters.retainedHeapKb = memory.getHeapMemoryUsage().getUsed() / 1024;
+		ClassReflectCache cache = ClassReflectCache.getInstance();
+		if (cache != null) {
+			counters.cachedClasses = cache.size();
+			counters.cacheEvictions = cache.getEvictionCount();
+		}
+	}
+
+	@Benchmark
+	public Object churn() throws ReflectiveOperationException {
+		return run(null);
+	}
+
+	@Benchmark
+	public Object boundedCache4Churn() throws ReflectiveOperationException {
+		return run(Holder4BoundedCache.INST);
+	}
+
+	private Object run(Object initor) throws ReflectiveOperationException {
+		Object vo = newBeanClass(PROPERTY_COUNT).getDeclaredConstructor().newInstance();
+		Context cx = Context.enter();
+		try {
+			ScriptableObject.putProperty(scope, "vo", vo);
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	/**
+	 * @return a new public class with String bean properties name1 to name&lt;propertyCount&gt;
+	 */
+	static Class<?> newBeanClass(int propertyCount) {
+		String className = "qxo.benchmark.rhino.gen.ChurnBean" + SERIAL.incrementAndGet();
+		ClassFileWriter cfw = new ClassFileWriter(className, "java.lang.Object", "<churn>");
+		cfw.startMethod("<init>", "()V", ClassFileWriter.ACC_PUBLIC);
+		cfw.addLoadThis();
+		cfw.addInvoke(ByteCode.INVOKESPECIAL, "java/lang/Object", "<init>", "()V");
+		cfw.add(ByteCode.RETURN);
+		cfw.stopMethod((short) 1);
+		for (int i = 1; i <= propertyCount; i++) {
+			String field = "name" + i;
+			String property = "Name" + i;
+			cfw.addField(field, "Ljava/lang/String;", ClassFileWriter.ACC_PRIVATE);
+
+			cfw.startMethod("get" + property, "()Ljava/lang/String;", ClassFileWriter.ACC_PUBLIC);
+			cfw.addLoadThis();
+			cfw.add(ByteCode.GETFIELD, className, field, "Ljava/lang/String;");
+			cfw.add(ByteCode.ARETURN);
+			cfw.stopMethod((short) 1);
+
+			cfw.startMethod("set" + property, "(Ljava/lang/String;)V", ClassFileWriter.ACC_PUBLIC);
+			cfw.addLoadThis();
+			cfw.addALoad(1);
+			cfw.add(ByteCode.PUTFIELD, className, field, "Ljava/lang/String;");
+			cfw.add(ByteCode.RETURN);
+			cfw.stopMethod((short) 2);
+		}
+		DefiningClassLoader loader = new DefiningClassLoader(RhinoClassChurnBenchmark.class.getClassLoader());
+		Class<?> clazz = loader.defineClass(className, cfw.toByteArray());
+		loader.linkClass(clazz);
+		return clazz;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoClassChurnBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
@@ -0,0 +1,154 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.ClassReflectCache;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * all threads share one sealed top level scope. Every invocation reads a property of the next fresh generated
+ * class of its thread, and all threads walk the same sequence of classes, so they reach every class while it
+ * is still cold. A class is generated by the first thread that asks for it; the others wait for it, which
+ * keeps the threads in step. The JavaMembers built beyond one per class are reported as secondary result
+ * duplicatedBuilds (counted per generated class with rhino_JavaMembers_countCreations), JMH sums it over
+ * the iterations. storm runs with the single flight build of JavaMembers, singleFlightOff4Storm without it.
+ * Use <code>-t</code> to change the thread count.
+ */
+@Fork(2)
+@Threads(8)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoColdClassStormBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+		System.setProperty("rhino_JavaMembers_countCreations", "true");
+	}
+
+	private static final class Holder4SingleFlightOff {
+		public static final Holder4SingleFlightOff INST = new Holder4SingleFlightOff();
+		static {
+			System.setProperty("rhino_JavaMembers_singleFlight", "false");
+		}
+	}
+
+	private static final int PROPERTY_COUNT = 50;
+
+	private static final String SCRIPT = "vo.name1 = 'abc'; vo.name1";
+
+	private ScriptableObject sharedScope;
+
+	private Script script;
+
+	private final ConcurrentHashMap<Integer,Object> beans = new ConcurrentHashMap<>();
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long classes;
+		public long duplicatedBuilds;
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+		int round;
+	}
+
+	@Setup(Level.Iteration)
+	public void setupIteration() {
+		Context cx = Context.enter();
+		try {
+			sharedScope = cx.initStandardObjects(null, true);
+			script = cx.compileString(SCRIPT, "storm", 1, null);
+			sharedScope.sealObject();
+		} finally {
+			Context.exit();
+		}
+		beans.clear();
+	}
+
+	@Setup(Level.Iteration)
+	public void setupThread(ThreadState ts) {
+		ts.round = 0;
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDownIteration(Counters counters) {
+		long builds = 0;
+		for (Object bean : beans.values()) {
+			builds += ClassReflectCache.getCreationCount(bean.getClass());
+		}
+		counters.classes = beans.size();
+		counters.duplicatedBuilds = builds - beans.size();
+	}
+
+	private Object bean(int round) {
+		Object bean = beans.get(round);
+		if (bean == null) {
+			bean = beans.computeIfAbsent(round, r -> {
+				try {
+					return RhinoClassChurnBenchmark.newBeanClass(PROPERTY_COUNT).getDeclaredConstructor().newInstance();
+				} catch (ReflectiveOperationException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+		}
+		return bean;
+	}
+
+	@Benchmark
+	public Object storm(ThreadState ts) {
+		return run(ts, null);
+	}
+
+	@Benchmark
+	public Object singleFlightOff4Storm(ThreadState ts) {
+		return run(ts, Holder4SingleFlightOff.INST);
+	}
+
+	private Object run(ThreadState ts, Object initor) {
+		Object vo = bean(ts.round++);
+		Context cx = Context.enter();
+		try {
+			Scriptable scope = cx.newObject(sharedScope);
+			scope.setPrototype(sharedScope);
+			scope.setParentScope(null);
+			scope.put("vo", scope, vo);
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoColdClassStormBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
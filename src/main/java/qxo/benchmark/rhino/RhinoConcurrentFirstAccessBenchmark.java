@@ -0,0 +1,108 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * all threads share one sealed top level scope (and so one ClassCache and one JavaMembers per class),
+ * the scope is recreated for every iteration so the members are initialized lazily by concurrent first access.
+ * The script checks every value it reads, a broken member table fails the run.
+ * Use <code>-t</code> to change the thread count.
+ */
+@Fork(2)
+@Threads(4)
+@Warmup(iterations = 10)
+@Measurement(iterations = 50)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RhinoConcurrentFirstAccessBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final String SCRIPT = "for (var i = 1; i <= 200; i++) {\n"
+			+ "  var n = 'name' + i, v = n + '@' + tag;\n"
+			+ "  vo[n] = v;\n"
+			+ "  if (String(vo[n]) != v || String(vo['getName' + i]()) != v) throw new Error('bad value of ' + n);\n"
+			+ "}\n"
+			+ "vo.name1";
+
+	private ScriptableObject sharedScope;
+
+	private Script script;
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+		final Member200pBean vo = new Member200pBean();
+		final String tag = Thread.currentThread().getName();
+	}
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		Context cx = Context.enter();
+		try {
+			sharedScope = cx.initStandardObjects(null, true);
+			script = cx.compileString(SCRIPT, "firstAccess", 1, null);
+			sharedScope.sealObject();
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	public Object firstAccess(ThreadState ts) {
+		return run(ts);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+	@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+	public Object steadyAccess(ThreadState ts) {
+		return run(ts);
+	}
+
+	private Object run(ThreadState ts) {
+		Context cx = Context.enter();
+		try {
+			Scriptable scope = cx.newObject(sharedScope);
+			scope.setPrototype(sharedScope);
+			scope.setParentScope(null);
+			scope.put("vo", scope, ts.vo);
+			scope.put("tag", scope, ts.tag);
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoConcurrentFirstAccessBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
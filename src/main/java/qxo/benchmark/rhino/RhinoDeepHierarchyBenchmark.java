@@ -0,0 +1,205 @@
+package qxo.benchmark.rhino;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mozilla.classfile.ByteCode;
+import org.mozilla.classfile.ClassFileWriter;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.DefiningClassLoader;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * every invocation reads one property of each leaf of a new generated class hierarchy: DEPTH levels of
+ * bean classes, each adding PROPERTY_COUNT properties, and leafCount leaf classes extending the deepest level.
+ * The score is the time to build the members of all leaves; the heap retained by the hierarchies (after a full
+ * GC) and the number of leaves are reported as secondary results, JMH sums them over the iterations.
+ * firstAccess shares the inherited member tables, inheritedTablesOff4FirstAccess builds every leaf on its own.
+ */
+@Fork(2)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RhinoDeepHierarchyBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final class Holder4InheritedTablesOff {
+		public static final Holder4InheritedTablesOff INST = new Holder4InheritedTablesOff();
+		static {
+			System.setProperty("rhino_JavaMembers_inheritedTables", "false");
+		}
+	}
+
+	private static final int DEPTH = 12;
+
+	private static final int PROPERTY_COUNT = 5;
+
+	private static final AtomicInteger SERIAL = new AtomicInteger();
+
+	private static final String SCRIPT = "vo.l1p1 = 'abc'; vo.l1p1";
+
+	@Param({ "10", "50" })
+	public int leafCount;
+
+	private ScriptableObject scope;
+
+	private Script script;
+
+	private Object[] leaves;
+
+	private long heapBefore;
+
+	private int leafTotal;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long retainedBytes;
+		public long retainedLeaves;
+	}
+
+	@Setup(Level.Iteration)
+	public void setupIteration() {
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			script = cx.compileString(SCRIPT, "hierarchy", 1, null);
+		} finally {
+			Context.exit();
+		}
+		leafTotal = 0;
+		heapBefore = usedHeapAfterGc();
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() throws ReflectiveOperationException {
+		leaves = newHierarchy(leafCount);
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDownIteration(Counters counters) {
+		leaves = null;
+		counters.retainedBytes = usedHeapAfterGc() - heapBefore;
+		counters.retainedLeaves = leafTotal;
+		scope = null;
+	}
+
+	private static long usedHeapAfterGc() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	@Benchmark
+	public Object firstAccess() {
+		return run(null);
+	}
+
+	@Benchmark
+	public Object inheritedTablesOff4FirstAccess() {
+		return run(Holder4InheritedTablesOff.INST);
+	}
+
+	private Object run(Object initor) {
+		Object ret = null;
+		Context cx = Context.enter();
+		try {
+			for (Object vo : leaves) {
+				ScriptableObject.putProperty(scope, "vo", vo);
+				ret = script.exec(cx, scope);
+			}
+		} finally {
+			Context.exit();
+		}
+		leafTotal += leaves.length;
+		return ret;
+	}
+
+	/**
+	 * @return instances of the leaves of a new hierarchy, defined in its own class loader
+	 */
+	static Object[] newHierarchy(int leafCount) throws ReflectiveOperationException {
+		String prefix = "qxo.benchmark.rhino.gen.Deep" + SERIAL.incrementAndGet() + "Bean";
+		DefiningClassLoader loader = new DefiningClassLoader(RhinoDeepHierarchyBenchmark.class.getClassLoader());
+		String superName = "java.lang.Object";
+		for (int level = 1; level <= DEPTH; level++) {
+			String className = prefix + "L" + level;
+			defineClass(loader, className, superName, "L" + level + "p");
+			superName = className;
+		}
+		Object[] leaves = new Object[leafCount];
+		for (int i = 0; i < leafCount; i++) {
+			String className = prefix + "Leaf" + i;
+			leaves[i] = defineClass(loader, className, superName, "Leaf" + i + "p").getDeclaredConstructor().newInstance();
+		}
+		return leaves;
+	}
+
+	/**
+	 * defines a public class with String bean properties &lt;property&gt;1 to &lt;property&gt;PROPERTY_COUNT
+	 */
+	private static Class<?> defineClass(DefiningClassLoader loader, String className, String superName,
+			String property) {
+		ClassFileWriter cfw = new ClassFileWriter(className, superName, "<hierarchy>");
+		cfw.startMethod("<init>", "()V", ClassFileWriter.ACC_PUBLIC);
+		cfw.addLoadThis();
+		cfw.addInvoke(ByteCode.INVOKESPECIAL, superName.replace('.', '/'), "<init>", "()V");
+		cfw.add(ByteCode.RETURN);
+		cfw.stopMethod((short) 1);
+		for (int i = 1; i <= PROPERTY_COUNT; i++) {
+			String field = "f" + property + i;
+			cfw.addField(field, "Ljava/lang/String;", ClassFileWriter.ACC_PRIVATE);
+
+			cfw.startMethod("get" + property + i, "()Ljava/lang/String;", ClassFileWriter.ACC_PUBLIC);
+			cfw.addLoadThis();
+			cfw.add(ByteCode.GETFIELD, className, field, "Ljava/lang/String;");
+			cfw.add(ByteCode.ARETURN);
+			cfw.stopMethod((short) 1);
+
+			cfw.startMethod("set" + property + i, "(Ljava/lang/String;)V", ClassFileWriter.ACC_PUBLIC);
+			cfw.addLoadThis();
+			cfw.addALoad(1);
+			cfw.add(ByteCode.PUTFIELD, className, field, "Ljava/lang/String;");
+			cfw.add(ByteCode.RETURN);
+			cfw.stopMethod((short) 2);
+		}
+		Class<?> clazz = loader.defineClass(className, cfw.toByteArray());
+		loader.linkClass(clazz);
+		return clazz;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoDeepHierarchyBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
@@ -0,0 +1,81 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * explicit overload selection (vo['setValue(int)'](1)) on the overloaded setters of OverloadBean, with a new
+ * scope per invocation like RhinoJavaMembersBenchmark, so every explicit name is resolved once per invocation.
+ * The *NoIndex benchmarks disable the per class signature index (rhino_JavaMembers_signatureIndex=false).
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoExplicitSignatureBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final String CALL_SCRIPT = "vo['setValue(java.lang.String)']('a');"
+			+ " vo['setValue(int)'](1); vo['setValue(double)'](1.5); vo['setValue(boolean)'](true);"
+			+ " vo['setValue(java.lang.String,int)']('ff', 16); vo.value";
+
+	private static final String HAS_SCRIPT = "vo['setValue(long)'] && !vo['setValue(char)'] && !vo['setValue(float)']";
+
+	private static final class Holder4NoSignatureIndex {
+		public static final Holder4NoSignatureIndex INST = new Holder4NoSignatureIndex();
+		static {
+			System.setProperty("rhino_JavaMembers_signatureIndex", "false");
+		}
+	}
+
+	private final OverloadBean vo = new OverloadBean();
+
+	@Benchmark
+	public Object call() {
+		return run(null, CALL_SCRIPT);
+	}
+
+	@Benchmark
+	public Object callNoIndex() {
+		return run(Holder4NoSignatureIndex.INST, CALL_SCRIPT);
+	}
+
+	@Benchmark
+	public Object lookup() {
+		return run(null, HAS_SCRIPT);
+	}
+
+	@Benchmark
+	public Object lookupNoIndex() {
+		return run(Holder4NoSignatureIndex.INST, HAS_SCRIPT);
+	}
+
+	private Object run(Object initor, String script) {
+		return RhinoJavaMembersBenchmark.runJsScript(script, vo, true);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoExplicitSignatureBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
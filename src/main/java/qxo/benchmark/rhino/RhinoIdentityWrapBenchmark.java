@@ -0,0 +1,101 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.IdentityCachingWrapFactory;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.mozilla.javascript.WrapFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * a script walks a tree of 2^depth - 1 NestedBean nodes 10 times, with the default WrapFactory
+ * (a new NativeJavaObject per visited node) and with IdentityCachingWrapFactory.
+ * The scope is reused, main runs with the GC profiler.
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoIdentityWrapBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final String SCRIPT = "function sum(node) {\n"
+			+ "  return node == null ? 0 : node.value + sum(node.left) + sum(node.right);\n"
+			+ "}\n"
+			+ "var s = 0;\n"
+			+ "for (var i = 0; i < 10; i++) s += sum(vo);\n"
+			+ "s";
+
+	@Param({ "4", "8" })
+	public int depth;
+
+	private ScriptableObject scope;
+
+	private Script script;
+
+	private final WrapFactory defaultWrapFactory = new WrapFactory();
+
+	private final WrapFactory identityCachingWrapFactory = new IdentityCachingWrapFactory();
+
+	@Setup
+	public void setup() {
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			scope.put("vo", scope, NestedBean.tree(depth));
+			script = cx.compileString(SCRIPT, "identityWrap", 1, null);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	public Object base() {
+		return run(defaultWrapFactory);
+	}
+
+	@Benchmark
+	public Object identityCache() {
+		return run(identityCachingWrapFactory);
+	}
+
+	private Object run(WrapFactory wrapFactory) {
+		Context cx = Context.enter();
+		try {
+			cx.setWrapFactory(wrapFactory);
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoIdentityWrapBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(opt).run();
+	}
+}
@@ -0,0 +1,123 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * the same property access sites see receivers of 1 to 6 classes of the Member*pBean family:
+ * monomorphic, polymorphic and, beyond rhino_JavaMembers_inlineCacheSize (4), megamorphic sites.
+ * the scope is reused so the member tables (and inline caches) survive between invocations.
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoInlineCacheBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final int RECEIVER_COUNT = 60;
+
+	private static final String SCRIPT = "var s = 0;\n"
+			+ "for (var i = 0; i < vos.length; i++) {\n"
+			+ "  var vo = vos[i];\n"
+			+ "  if (vo.name1 != null && vo.getName1() != null) s++;\n"
+			+ "}\n"
+			+ "s";
+
+	private static final class Holder4InlineCache {
+		public static final Holder4InlineCache INST = new Holder4InlineCache();
+		static {
+			System.setProperty("rhino_JavaMembers_inlineCache", "true");
+		}
+	}
+
+	@Param({ "1", "2", "4", "6" })
+	public int receiverTypes;
+
+	private ScriptableObject scope;
+
+	private Script script;
+
+	@Setup
+	public void setup() {
+		final AbstractBean[] vos = new AbstractBean[RECEIVER_COUNT];
+		for (int i = 0; i < vos.length; i++) {
+			vos[i] = newBean(i % receiverTypes);
+			vos[i].setName1("abc");
+		}
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			scope.put("vos", scope, vos);
+			script = cx.compileString(SCRIPT, "inlineCache", 1, null);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	private static AbstractBean newBean(int type) {
+		switch (type) {
+		case 0:
+			return new Member1pBean();
+		case 1:
+			return new Member10pBean();
+		case 2:
+			return new Member20pBean();
+		case 3:
+			return new Member50pBean();
+		case 4:
+			return new Member100pBean();
+		default:
+			return new Member200pBean();
+		}
+	}
+
+	@Benchmark
+	public Object base(){
+		return run(null);
+	}
+
+	@Benchmark
+	public Object inlineCache(){
+		return run(Holder4InlineCache.INST);
+	}
+
+	private Object run(Object initor) {
+		Context cx = Context.enter();
+		try {
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoInlineCacheBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
@@ -89,6 +89,44 @@ public class RhinoJavaMembersBenchmark {
 		}
 	}
 	
+	private static final class Holder4Dispatcher {
+		public static final Holder4Dispatcher INST = new Holder4Dispatcher();
+		static {
+			System.setProperty("rhino_JavaMembers_dispatcher", "true");
+		}
+	}
+	
+	private static final class Holder4MemberIndex {
+		public static final Holder4MemberIndex INST = new Holder4MemberIndex();
+		static {
+			System.setProperty("rhino_JavaMembers_reflect_cache_on", "false");
+			System.setProperty("rhino_JavaMembers_memberIndex", "true");
+		}
+	}
+	
+	private static final class Holder4SharedMembersOff {
+		public static final Holder4SharedMembersOff INST = new Holder4SharedMembersOff();
+		static {
+			System.setProperty("rhino_JavaMembers_sharedMembers", "false");
+		}
+	}
+	
+	private static final class Holder4LazyInitOffSharedMembersOff {
+		public static final Holder4LazyInitOffSharedMembersOff INST = new Holder4LazyInitOffSharedMembersOff();
+		static {
+			System.setProperty("rhino_JavaMembers_lazyInit", "false");
+			System.setProperty("rhino_JavaMembers_sharedMembers", "false");
+		}
+	}
+	
+	private static final class Holder4LazyReflect {
+		public static final Holder4LazyReflect INST = new Holder4LazyReflect();
+		static {
+			System.setProperty("rhino_JavaMembers_reflect_cache_on", "false");
+			System.setProperty("rhino_JavaMembers_lazyReflect", "true");
+		}
+	}
+	
 	@Benchmark
 	public Object old4Member050p(Blackhole bh) {
 		return runJsOnVo(bh, new Member50pBean() , Holder4JavaMembersOld.INST);
@@ -125,6 +163,76 @@ public class RhinoJavaMembersBenchmark {
 	}
 	
 	
+	@Benchmark
+	public Object dispatcher4Member001p(Blackhole bh) {
+		return runJsOnVo(bh, new Member1pBean() , Holder4Dispatcher.INST);
+	}
+	
+	@Benchmark
+	public Object dispatcher4Member050p(Blackhole bh) {
+		return runJsOnVo(bh, new Member50pBean() , Holder4Dispatcher.INST);
+	}
+	
+	@Benchmark
+	public Object dispatcher4Member100p(Blackhole bh) {
+		return runJsOnVo(bh, new Member100pBean() , Holder4Dispatcher.INST);
+	}
+	
+	@Benchmark
+	public Object dispatcher4Member200p(Blackhole bh) {
+		return runJsOnVo(bh, new Member200pBean() , Holder4Dispatcher.INST);
+	}
+	
+	@Benchmark
+	public Object reflectCacheOff4Member200p(Blackhole bh) {
+		return runJsOnVo(bh, new Member200pBean() , Holder4JavaMembersReflectCacheOff.INST);
+	}
+	
+	@Benchmark
+	public Object memberIndex4Member050p(Blackhole bh) {
+		return runJsOnVo(bh, new Member50pBean() , Holder4MemberIndex.INST);
+	}
+	
+	@Benchmark
+	public Object memberIndex4Member200p(Blackhole bh) {
+		return runJsOnVo(bh, new Member200pBean() , Holder4MemberIndex.INST);
+	}
+	
+	@Benchmark
+	public Object lazyReflect4Member001p(Blackhole bh) {
+		return runJsOnVo(bh, new Member1pBean() , Holder4LazyReflect.INST);
+	}
+	
+	@Benchmark
+	public Object lazyReflect4Member050p(Blackhole bh) {
+		return runJsOnVo(bh, new Member50pBean() , Holder4LazyReflect.INST);
+	}
+	
+	@Benchmark
+	public Object lazyReflect4Member200p(Blackhole bh) {
+		return runJsOnVo(bh, new Member200pBean() , Holder4LazyReflect.INST);
+	}
+	
+	@Benchmark
+	public Object lazyInitOff4Member200p(Blackhole bh) {
+		return runJsOnVo(bh, new Member200pBean() , Holder4JavaMembersLazyInitOff.INST);
+	}
+	
+	@Benchmark
+	public Object sharedMembersOff4Member050p(Blackhole bh) {
+		return runJsOnVo(bh, new Member50pBean() , Holder4SharedMembersOff.INST);
+	}
+	
+	@Benchmark
+	public Object sharedMembersOff4Member200p(Blackhole bh) {
+		return runJsOnVo(bh, new Member200pBean() , Holder4SharedMembersOff.INST);
+	}
+	
+	@Benchmark
+	public Object lazyInitOffSharedMembersOff4Member200p(Blackhole bh) {
+		return runJsOnVo(bh, new Member200pBean() , Holder4LazyInitOffSharedMembersOff.INST);
+	}
+	
 	@Benchmark
 	public Object base4Member001p(Blackhole bh) {
 		return runJsOnVo(bh, new Member1pBean() , null);
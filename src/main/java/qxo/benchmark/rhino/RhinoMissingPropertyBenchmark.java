@@ -0,0 +1,113 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * probes for optional properties (<code>if (vo.foo)</code>) on a bean with a reused scope:
+ * missing probes names the bean does not have, present probes names it has.
+ * The *NegativeCacheOff benchmarks disable the cache of missing names (rhino_JavaMembers_negativeCacheSize=0).
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoMissingPropertyBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final String MISSING_SCRIPT = "var n = 0; for (var i = 0; i < 100; i++) {"
+			+ " if (vo.foo) n++; if (vo.optionalName) n++; if (vo.name1Label) n++; } n";
+
+	private static final String PRESENT_SCRIPT = "var n = 0; for (var i = 0; i < 100; i++) {"
+			+ " if (vo.name1) n++; if (vo.name22) n++; if (vo.name23) n++; } n";
+
+	private static final class Holder4NegativeCacheOff {
+		public static final Holder4NegativeCacheOff INST = new Holder4NegativeCacheOff();
+		static {
+			System.setProperty("rhino_JavaMembers_negativeCacheSize", "0");
+		}
+	}
+
+	private final Member50pBean vo = new Member50pBean();
+
+	private ScriptableObject scope;
+
+	private Script missingScript;
+
+	private Script presentScript;
+
+	@Setup
+	public void setup() {
+		vo.setName1("a");
+		vo.setName22("b");
+		vo.setName23("c");
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			missingScript = cx.compileString(MISSING_SCRIPT, "missing", 1, null);
+			presentScript = cx.compileString(PRESENT_SCRIPT, "present", 1, null);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	public Object missing() {
+		return run(null, missingScript);
+	}
+
+	@Benchmark
+	public Object missingNegativeCacheOff() {
+		return run(Holder4NegativeCacheOff.INST, missingScript);
+	}
+
+	@Benchmark
+	public Object present() {
+		return run(null, presentScript);
+	}
+
+	@Benchmark
+	public Object presentNegativeCacheOff() {
+		return run(Holder4NegativeCacheOff.INST, presentScript);
+	}
+
+	private Object run(Object initor, Script script) {
+		Context cx = Context.enter();
+		try {
+			// wrapped here, after the holder of the benchmark set its properties
+			scope.put("vo", scope, Context.javaToJS(vo, scope));
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoMissingPropertyBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
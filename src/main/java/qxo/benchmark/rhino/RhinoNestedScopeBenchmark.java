@@ -0,0 +1,113 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * reads object typed bean properties 100 times in the innermost of depth nested closures. The bean is the result
+ * of a Java method called there, so its wrapper is parented to the innermost activation and every read that wraps
+ * its result needs the top level scope from the end of the scope chain. topScopeCache4NestedRead caches the top
+ * level scope in the JavaMembers (rhino_JavaMembers_topScopeCache).
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoNestedScopeBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final class Holder4TopScopeCache {
+		public static final Holder4TopScopeCache INST = new Holder4TopScopeCache();
+		static {
+			System.setProperty("rhino_JavaMembers_topScopeCache", "true");
+		}
+	}
+
+	@Param({ "1", "10" })
+	public int depth;
+
+	private ScriptableObject scope;
+
+	private Script nestedRead;
+
+	/**
+	 * @return depth nested immediately called closures, each returning the result of the next one
+	 */
+	static String nestedScript(int depth) {
+		String script = "(function level" + depth + "() {\n"
+				+ "  var vo = tree.getLeft();\n"
+				+ "  var s = 0;\n"
+				+ "  for (var i = 0; i < 100; i++) {\n"
+				+ "    if (vo.name1 != null) s++;\n"
+				+ "    if (vo.left != null) s++;\n"
+				+ "  }\n"
+				+ "  return s;\n"
+				+ "})()";
+		for (int level = depth - 1; level >= 1; level--) {
+			script = "(function level" + level + "() {\n  return " + script + ";\n})()";
+		}
+		return script;
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			scope.put("tree", scope, NestedBean.tree(3));
+			nestedRead = cx.compileString(nestedScript(depth), "nestedRead", 1, null);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	public Object nestedRead() {
+		return run(null);
+	}
+
+	@Benchmark
+	public Object topScopeCache4NestedRead() {
+		return run(Holder4TopScopeCache.INST);
+	}
+
+	private Object run(Object initor) {
+		Context cx = Context.enter();
+		try {
+			return nestedRead.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoNestedScopeBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
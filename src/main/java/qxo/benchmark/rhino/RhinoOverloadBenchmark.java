@@ -0,0 +1,93 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * calls of a 2-, 5- and 10-way overloaded method with a new scope per invocation like RhinoJavaMembersBenchmark,
+ * with the same argument type at every call (stable) or a different one at every call (varying).
+ * overloadCacheOff disables the overload cache of the method groups (rhino_JavaMembers_overloadCacheSize=0),
+ * then only the cache of each NativeJavaMethod is used.
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoOverloadBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final int CALLS = 10;
+
+	private static final class Holder4OverloadCacheOff {
+		public static final Holder4OverloadCacheOff INST = new Holder4OverloadCacheOff();
+		static {
+			System.setProperty("rhino_JavaMembers_overloadCacheSize", "0");
+		}
+	}
+
+	@Param({ "Overload2Bean", "Overload5Bean", "Overload10Bean" })
+	public String bean;
+
+	@Param({ "stable", "varying" })
+	public String args;
+
+	private Object vo;
+
+	private String script;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		vo = Class.forName(RhinoOverloadBenchmark.class.getPackage().getName() + "." + bean).getDeclaredConstructor()
+				.newInstance();
+		String values;
+		if ("stable".equals(args)) {
+			values = "[1.5]";
+		} else if ("Overload2Bean".equals(bean)) {
+			values = "['a', 1.5]";
+		} else {
+			values = "['a', 1.5, true, {}, []]";
+		}
+		script = "var a = " + values + "; for (var i = 0; i < " + CALLS + "; i++) { vo.put(a[i % a.length]); } vo.value";
+	}
+
+	@Benchmark
+	public Object base() {
+		return run(null);
+	}
+
+	@Benchmark
+	public Object overloadCacheOff() {
+		return run(Holder4OverloadCacheOff.INST);
+	}
+
+	private Object run(Object initor) {
+		return RhinoJavaMembersBenchmark.runJsScript(script, vo, true);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoOverloadBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
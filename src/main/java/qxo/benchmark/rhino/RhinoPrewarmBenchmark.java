@@ -0,0 +1,98 @@
+package qxo.benchmark.rhino;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.JavaMembersWarmer;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * time until the JavaMembers of classCount fresh generated bean classes are in the ClassCache of a new scope,
+ * warmed by JavaMembersWarmer on a ForkJoinPool with the given parallelism.
+ */
+@Fork(2)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoPrewarmBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final int PROPERTY_COUNT = 20;
+
+	@Param({ "50", "200" })
+	public int classCount;
+
+	@Param({ "1", "4" })
+	public int threads;
+
+	private ForkJoinPool pool;
+
+	private ScriptableObject scope;
+
+	private List<Class<?>> classes;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDownTrial() {
+		pool.shutdown();
+	}
+
+	@Setup(Level.Iteration)
+	public void setupIteration() {
+		classes = new ArrayList<>(classCount);
+		for (int i = 0; i < classCount; i++) {
+			classes.add(RhinoClassChurnBenchmark.newBeanClass(PROPERTY_COUNT));
+		}
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	public int warm() {
+		int warmed = JavaMembersWarmer.warm(scope, classes, pool);
+		if (warmed != classCount) {
+			throw new IllegalStateException("warmed " + warmed + " of " + classCount);
+		}
+		return warmed;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoPrewarmBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
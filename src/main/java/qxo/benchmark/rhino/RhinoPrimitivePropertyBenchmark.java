@@ -0,0 +1,102 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * reads int, long, double and boolean bean properties in a loop with a reused scope.
+ * "small" values fit the Integer/Long caches, "large" ones do not; run with <code>-prof gc</code>
+ * (done by main) to see the allocation rate.
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoPrimitivePropertyBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final String SCRIPT = "var s = 0;\n"
+			+ "for (var i = 0; i < 100; i++) {\n"
+			+ "  s += vo.count + vo.total + vo.price * vo.ratio;\n"
+			+ "  if (vo.active) s++;\n"
+			+ "}\n"
+			+ "s";
+
+	private static final class Holder4MethodHandleOff {
+		public static final Holder4MethodHandleOff INST = new Holder4MethodHandleOff();
+		static {
+			System.setProperty("rhino_JavaMembers_methodHandle", "false");
+		}
+	}
+
+	@Param({ "small", "large" })
+	public String values;
+
+	private ScriptableObject scope;
+
+	private Script script;
+
+	@Setup
+	public void setup() {
+		PrimitiveBean vo = "large".equals(values) ? new LargeCountPrimitiveBean() : new PrimitiveBean();
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			scope.put("vo", scope, vo);
+			script = cx.compileString(SCRIPT, "primitive", 1, null);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	public Object base() {
+		return run(null);
+	}
+
+	@Benchmark
+	public Object methodHandleOff() {
+		return run(Holder4MethodHandleOff.INST);
+	}
+
+	private Object run(Object initor) {
+		Context cx = Context.enter();
+		try {
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoPrimitivePropertyBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(opt).run();
+	}
+}
@@ -0,0 +1,145 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * reads and writes the int, long, double and boolean public fields of {@link PublicFieldBean} in a loop with a
+ * reused scope, next to the same properties read and written through the getters and setters of
+ * {@link PrimitiveBean}. "small" values fit the Integer/Long caches, "large" ones do not; run with
+ * <code>-prof gc</code> (done by main) to see the allocation rate.
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoPublicFieldBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static String readScript(String vo) {
+		return "var s = 0;\n"
+				+ "for (var i = 0; i < 100; i++) {\n"
+				+ "  s += " + vo + ".count + " + vo + ".total + " + vo + ".price * " + vo + ".ratio;\n"
+				+ "  if (" + vo + ".active) s++;\n"
+				+ "}\n"
+				+ "s";
+	}
+
+	private static String writeScript(String vo) {
+		return "for (var i = 0; i < 100; i++) {\n"
+				+ "  " + vo + ".count = i; " + vo + ".total = i; " + vo + ".price = i * 0.5;\n"
+				+ "  " + vo + ".active = (i & 1) == 0;\n"
+				+ "}\n"
+				+ vo + ".count";
+	}
+
+	private static final class Holder4FieldHandleOff {
+		public static final Holder4FieldHandleOff INST = new Holder4FieldHandleOff();
+		static {
+			System.setProperty("rhino_JavaMembers_fieldHandle", "false");
+		}
+	}
+
+	@Param({ "small", "large" })
+	public String values;
+
+	private ScriptableObject scope;
+
+	private Script fieldRead;
+
+	private Script fieldWrite;
+
+	private Script getterRead;
+
+	private Script setterWrite;
+
+	@Setup
+	public void setup() {
+		boolean large = "large".equals(values);
+		PublicFieldBean fields = large ? new LargeCountPublicFieldBean() : new PublicFieldBean();
+		PrimitiveBean bean = large ? new LargeCountPrimitiveBean() : new PrimitiveBean();
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			scope.put("fields", scope, fields);
+			scope.put("bean", scope, bean);
+			fieldRead = cx.compileString(readScript("fields"), "fieldRead", 1, null);
+			fieldWrite = cx.compileString(writeScript("fields"), "fieldWrite", 1, null);
+			getterRead = cx.compileString(readScript("bean"), "getterRead", 1, null);
+			setterWrite = cx.compileString(writeScript("bean"), "setterWrite", 1, null);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	public Object fieldRead() {
+		return run(null, fieldRead);
+	}
+
+	@Benchmark
+	public Object fieldWrite() {
+		return run(null, fieldWrite);
+	}
+
+	@Benchmark
+	public Object fieldReadFieldHandleOff() {
+		return run(Holder4FieldHandleOff.INST, fieldRead);
+	}
+
+	@Benchmark
+	public Object fieldWriteFieldHandleOff() {
+		return run(Holder4FieldHandleOff.INST, fieldWrite);
+	}
+
+	@Benchmark
+	public Object getterRead() {
+		return run(null, getterRead);
+	}
+
+	@Benchmark
+	public Object setterWrite() {
+		return run(null, setterWrite);
+	}
+
+	private Object run(Object initor, Script script) {
+		Context cx = Context.enter();
+		try {
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoPublicFieldBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(opt).run();
+	}
+}
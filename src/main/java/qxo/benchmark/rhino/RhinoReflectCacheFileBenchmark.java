@@ -0,0 +1,94 @@
+package qxo.benchmark.rhino;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * time of the first script run over all Member*pBean classes in a fresh JVM,
+ * without (cold) and with (warm) a reflection cache file written by a previous JVM.
+ */
+@Fork(20)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoReflectCacheFileBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final String CACHE_FILE_PROPERTY = "rhino_JavaMembers_reflect_cache_file";
+
+	@Param({ "cold", "warm" })
+	public String cache;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, InterruptedException {
+		File file = new File(System.getProperty("java.io.tmpdir"), "rhino-reflect-cache-" + cache + ".bin");
+		file.delete();
+		if ("warm".equals(cache)) {
+			// the cache file is written on exit of another JVM
+			Process p = new ProcessBuilder(new File(System.getProperty("java.home"), "bin/java").getPath(),
+					"-cp", System.getProperty("java.class.path"),
+					"-D" + CACHE_FILE_PROPERTY + "=" + file.getPath(),
+					RhinoReflectCacheFileBenchmark.class.getName()).inheritIO().start();
+			if (p.waitFor() != 0 || !file.isFile()) {
+				throw new IllegalStateException("could not write " + file);
+			}
+		}
+		// the file of the trial, read when JavaMembers is loaded: needs a forked JVM per trial
+		System.setProperty(CACHE_FILE_PROPERTY, file.getPath());
+	}
+
+	@Benchmark
+	public void startup(Blackhole bh) {
+		runAll(bh);
+	}
+
+	private static void runAll(Blackhole bh) {
+		final AbstractBean[] vos = { new Member1pBean(), new Member10pBean(), new Member20pBean(),
+				new Member50pBean(), new Member100pBean(), new Member200pBean() };
+		for (AbstractBean vo : vos) {
+			Object ret = RhinoJavaMembersBenchmark.runJsOnVo(bh, vo, null);
+			if (bh != null) {
+				bh.consume(ret);
+			}
+		}
+	}
+
+	/**
+	 * run standalone to write the cache file given by -Drhino_JavaMembers_reflect_cache_file,
+	 * or with the option "bench" to run the benchmark.
+	 */
+	public static void main(String[] args) throws RunnerException {
+		if (args.length == 0 || !"bench".equals(args[0])) {
+			runAll(null);
+			return;
+		}
+		Options opt = new OptionsBuilder()
+				.include(RhinoReflectCacheFileBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
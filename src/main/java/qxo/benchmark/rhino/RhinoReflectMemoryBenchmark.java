@@ -0,0 +1,131 @@
+package qxo.benchmark.rhino;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * every invocation reads one property of a new generated bean class, all classes of an iteration stay
+ * reachable through the ClassCache of the scope. The heap retained by the classes (after a full GC, including
+ * their Method objects) and the number of classes are reported as secondary results; JMH sums them over the
+ * iterations, so retainedBytes / retainedClasses is the heap per class. lazyReflect4FirstAccess reflects the
+ * members on first use (rhino_JavaMembers_lazyReflect).
+ */
+@Fork(2)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoReflectMemoryBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final class Holder4LazyReflect {
+		public static final Holder4LazyReflect INST = new Holder4LazyReflect();
+		static {
+			System.setProperty("rhino_JavaMembers_lazyReflect", "true");
+		}
+	}
+
+	private static final String SCRIPT = "vo.name1 = 'abc'; vo.name1";
+
+	@Param({ "50", "200" })
+	public int propertyCount;
+
+	private ScriptableObject scope;
+
+	private Script script;
+
+	private long heapBefore;
+
+	private int classCount;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long retainedBytes;
+		public long retainedClasses;
+	}
+
+	@Setup(Level.Iteration)
+	public void setupIteration() {
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			script = cx.compileString(SCRIPT, "memory", 1, null);
+		} finally {
+			Context.exit();
+		}
+		classCount = 0;
+		heapBefore = usedHeapAfterGc();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDownIteration(Counters counters) {
+		counters.retainedBytes = usedHeapAfterGc() - heapBefore;
+		counters.retainedClasses = classCount;
+		scope = null;
+	}
+
+	private static long usedHeapAfterGc() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	@Benchmark
+	public Object firstAccess() throws ReflectiveOperationException {
+		return run(null);
+	}
+
+	@Benchmark
+	public Object lazyReflect4FirstAccess() throws ReflectiveOperationException {
+		return run(Holder4LazyReflect.INST);
+	}
+
+	private Object run(Object initor) throws ReflectiveOperationException {
+		Object vo = RhinoClassChurnBenchmark.newBeanClass(propertyCount).getDeclaredConstructor().newInstance();
+		classCount++;
+		Context cx = Context.enter();
+		try {
+			ScriptableObject.putProperty(scope, "vo", vo);
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoReflectMemoryBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
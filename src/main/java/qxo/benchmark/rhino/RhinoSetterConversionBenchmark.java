@@ -0,0 +1,193 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * assigns one property of {@link BoxedBean} 100 times per invocation, one benchmark per setter type, with the
+ * setter argument converters on (xxxWrite) and off (convertersOff4XxxWrite). The assigned values are the common JS ones: strings, integral and
+ * fractional numbers, booleans and wrapped enums.
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoSetterConversionBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final class Holder4ConvertersOff {
+		public static final Holder4ConvertersOff INST = new Holder4ConvertersOff();
+		static {
+			System.setProperty("rhino_JavaMembers_setterConverters", "false");
+		}
+	}
+
+	private ScriptableObject scope;
+
+	private Script stringWrite;
+
+	private Script intWrite;
+
+	private Script longWrite;
+
+	private Script doubleWrite;
+
+	private Script booleanWrite;
+
+	private Script boxedIntWrite;
+
+	private Script boxedDoubleWrite;
+
+	private Script enumWrite;
+
+	private static String writeScript(String property, String value) {
+		return "for (var i = 0; i < 100; i++) {\n"
+				+ "  vo." + property + " = " + value + ";\n"
+				+ "}\n"
+				+ "vo." + property;
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			scope.put("vo", scope, new BoxedBean());
+			stringWrite = compile(cx, "name1", "'x'");
+			intWrite = compile(cx, "count", "i");
+			longWrite = compile(cx, "total", "i * 1000");
+			doubleWrite = compile(cx, "price", "i * 0.5");
+			booleanWrite = compile(cx, "active", "(i & 1) == 0");
+			boxedIntWrite = compile(cx, "boxedCount", "i");
+			boxedDoubleWrite = compile(cx, "boxedPrice", "i * 0.5");
+			// a Java array, so JavaMembers is not loaded before the first benchmark
+			scope.put("units", scope, TimeUnit.values());
+			enumWrite = compile(cx, "unit", "units[i % units.length]");
+		} finally {
+			Context.exit();
+		}
+	}
+
+	private static Script compile(Context cx, String property, String value) {
+		return cx.compileString(writeScript(property, value), property + "Write", 1, null);
+	}
+
+	@Benchmark
+	public Object stringWrite() {
+		return run(stringWrite, null);
+	}
+
+	@Benchmark
+	public Object intWrite() {
+		return run(intWrite, null);
+	}
+
+	@Benchmark
+	public Object longWrite() {
+		return run(longWrite, null);
+	}
+
+	@Benchmark
+	public Object doubleWrite() {
+		return run(doubleWrite, null);
+	}
+
+	@Benchmark
+	public Object booleanWrite() {
+		return run(booleanWrite, null);
+	}
+
+	@Benchmark
+	public Object boxedIntWrite() {
+		return run(boxedIntWrite, null);
+	}
+
+	@Benchmark
+	public Object boxedDoubleWrite() {
+		return run(boxedDoubleWrite, null);
+	}
+
+	@Benchmark
+	public Object enumWrite() {
+		return run(enumWrite, null);
+	}
+
+	@Benchmark
+	public Object convertersOff4StringWrite() {
+		return run(stringWrite, Holder4ConvertersOff.INST);
+	}
+
+	@Benchmark
+	public Object convertersOff4IntWrite() {
+		return run(intWrite, Holder4ConvertersOff.INST);
+	}
+
+	@Benchmark
+	public Object convertersOff4LongWrite() {
+		return run(longWrite, Holder4ConvertersOff.INST);
+	}
+
+	@Benchmark
+	public Object convertersOff4DoubleWrite() {
+		return run(doubleWrite, Holder4ConvertersOff.INST);
+	}
+
+	@Benchmark
+	public Object convertersOff4BooleanWrite() {
+		return run(booleanWrite, Holder4ConvertersOff.INST);
+	}
+
+	@Benchmark
+	public Object convertersOff4BoxedIntWrite() {
+		return run(boxedIntWrite, Holder4ConvertersOff.INST);
+	}
+
+	@Benchmark
+	public Object convertersOff4BoxedDoubleWrite() {
+		return run(boxedDoubleWrite, Holder4ConvertersOff.INST);
+	}
+
+	@Benchmark
+	public Object convertersOff4EnumWrite() {
+		return run(enumWrite, Holder4ConvertersOff.INST);
+	}
+
+	private Object run(Script script, Object initor) {
+		Context cx = Context.enter();
+		try {
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoSetterConversionBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
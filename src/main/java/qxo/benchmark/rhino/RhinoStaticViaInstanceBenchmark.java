@@ -0,0 +1,120 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * static fields, methods and bean properties of StaticMemberBean read through an instance (LC3), with a reused
+ * scope and with a new scope per invocation like RhinoJavaMembersBenchmark. instance reads instance members
+ * for comparison. The *MergedOff benchmarks disable the merged instance table (rhino_JavaMembers_mergedTable=false).
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoStaticViaInstanceBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final String STATIC_SCRIPT = "var n = 0; for (var i = 0; i < 20; i++) {"
+			+ " n += vo.counter + vo.LABEL.length + vo.version.length + vo.twice(i); } n";
+
+	private static final String INSTANCE_SCRIPT = "var n = 0; for (var i = 0; i < 20; i++) {"
+			+ " n += vo.name1.length + vo.getName1().length + vo.name1.length + vo.name1.length; } n";
+
+	private static final class Holder4MergedTableOff {
+		public static final Holder4MergedTableOff INST = new Holder4MergedTableOff();
+		static {
+			System.setProperty("rhino_JavaMembers_mergedTable", "false");
+		}
+	}
+
+	private final StaticMemberBean vo = new StaticMemberBean();
+
+	private ScriptableObject scope;
+
+	private Script staticScript;
+
+	private Script instanceScript;
+
+	@Setup
+	public void setup() {
+		vo.setName1("abc");
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			staticScript = cx.compileString(STATIC_SCRIPT, "static", 1, null);
+			instanceScript = cx.compileString(INSTANCE_SCRIPT, "instance", 1, null);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	public Object statics() {
+		return run(null, staticScript);
+	}
+
+	@Benchmark
+	public Object staticsMergedOff() {
+		return run(Holder4MergedTableOff.INST, staticScript);
+	}
+
+	@Benchmark
+	public Object instance() {
+		return run(null, instanceScript);
+	}
+
+	@Benchmark
+	public Object staticsNewScope() {
+		return runNewScope(null);
+	}
+
+	@Benchmark
+	public Object staticsNewScopeMergedOff() {
+		return runNewScope(Holder4MergedTableOff.INST);
+	}
+
+	private Object run(Object initor, Script script) {
+		Context cx = Context.enter();
+		try {
+			// wrapped here, after the holder of the benchmark set its properties
+			scope.put("vo", scope, Context.javaToJS(vo, scope));
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	private Object runNewScope(Object initor) {
+		return RhinoJavaMembersBenchmark.runJsScript(STATIC_SCRIPT, vo, true);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoStaticViaInstanceBenchmark.class.getSimpleName())
+				.build();
+		new Runner(opt).run();
+	}
+}
@@ -0,0 +1,99 @@
+package qxo.benchmark.rhino;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.ScriptableObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * cost of wrapping a bean (Context.javaToJS) and reading one property with a reused scope,
+ * for a bean with 20 field/method name collisions and one without any. main runs with the GC profiler.
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RhinoWrapBenchmark {
+
+	static {
+		System.setProperty("rhino_JavaMembers_lazyInit", "true");
+	}
+
+	private static final String SCRIPT = "vo.name1";
+
+	private static final class Holder4LazyFieldAndMethods {
+		public static final Holder4LazyFieldAndMethods INST = new Holder4LazyFieldAndMethods();
+		static {
+			System.setProperty("rhino_JavaMembers_lazyFieldAndMethods", "true");
+		}
+	}
+
+	@Param({ "CollisionBean", "Member50pBean" })
+	public String bean;
+
+	private AbstractBean vo;
+
+	private ScriptableObject scope;
+
+	private Script script;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		vo = (AbstractBean) Class.forName(RhinoWrapBenchmark.class.getPackage().getName() + "." + bean).getDeclaredConstructor().newInstance();
+		vo.setName1("abc");
+		Context cx = Context.enter();
+		try {
+			scope = cx.initStandardObjects();
+			script = cx.compileString(SCRIPT, "wrap", 1, null);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	@Benchmark
+	public Object base() {
+		return run(null);
+	}
+
+	@Benchmark
+	public Object lazyFieldAndMethods() {
+		return run(Holder4LazyFieldAndMethods.INST);
+	}
+
+	private Object run(Object initor) {
+		Context cx = Context.enter();
+		try {
+			scope.put("vo", scope, Context.javaToJS(vo, scope));
+			return script.exec(cx, scope);
+		} finally {
+			Context.exit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(RhinoWrapBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(opt).run();
+	}
+}
@@ -0,0 +1,32 @@
+package qxo.benchmark.rhino;
+
+/**
+ * bean with static fields, methods and a static bean property, for static members accessed through an instance.
+ */
+public class StaticMemberBean extends AbstractBean {
+
+	public static final String LABEL = "static";
+	public static int counter = 3;
+	private static String version = "1.0";
+
+	private String name1;
+
+	public String getName1() {
+		return name1;
+	}
+	public void setName1(String name1) {
+		this.name1 = name1;
+	}
+	public static String getVersion() {
+		return version;
+	}
+	public static void setVersion(String version) {
+		StaticMemberBean.version = version;
+	}
+	public static int twice(int value) {
+		return 2 * value;
+	}
+	public static String describe(String value) {
+		return LABEL + ':' + value;
+	}
+}